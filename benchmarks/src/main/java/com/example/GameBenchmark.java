@@ -0,0 +1,118 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hot paths of a game, from dealing a round up to playing a whole game,
+ * for every supported number of players.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"2", "3", "4", "5", "6", "7", "8"})
+    public int numPlayers;
+
+    /**
+     * Name of the strategy in the default StrategyRegistry that plays every seat.
+     */
+    @Param({StrategyRegistry.GREEDY})
+    public String strategy;
+
+    private StrategyFactory[] seatFactories;
+    private long nextSeed;
+    private Crazy8Game game;
+    private Crazy8Game.Player player;
+    private int nextPlayerId;
+    private Card topCard;
+
+    @Setup(Level.Trial)
+    public void setUpSeats() {
+        seatFactories = new StrategyFactory[numPlayers];
+        Arrays.fill(seatFactories, StrategyRegistry.withDefaults().get(strategy));
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+
+        game = new Crazy8Game(seatFactories, nextSeed++, GameEventSink.SILENT);
+        player = game.getPlayer(1);
+        nextPlayerId = 1;
+
+        //a card that does not decide whether player 1 has to draw on its own
+        List<Card> drawPile = game.getDrawPile();
+        topCard = drawPile.get(drawPile.size() - 1);
+
+    }
+
+    @Benchmark
+    public void prepareNewRound() {
+        game.prepareNewRound();
+    }
+
+    /**
+     * Plays one turn of the player whose turn it is, dealing a new round whenever the last one ended.
+     */
+    @Benchmark
+    public PlayerTurn playTurn() {
+
+        if (game.checkRoundEnded()) {
+            game.prepareNewRound();
+            nextPlayerId = 1;
+        }
+
+        PlayerTurn turn = game.getPlayer(nextPlayerId).playTurn();
+        nextPlayerId = nextPlayerId % numPlayers + 1;
+        return turn;
+
+    }
+
+    @Benchmark
+    public boolean shouldDrawCard() {
+        return player.shouldDrawCard(topCard, null);
+    }
+
+    @Benchmark
+    public int sumOfOtherPlayerCards() {
+        return player.sumOfOtherPlayerCards();
+    }
+
+    /**
+     * Deals and plays a round, scores are reset so they never pile up over the iteration.
+     */
+    @Benchmark
+    public Crazy8Game.Player playRound() {
+
+        for (Crazy8Game.Player seat : game.getPlayers()) {
+            seat.setPlayerScore(0);
+        }
+        game.prepareNewRound();
+        return game.playRound();
+
+    }
+
+    @Benchmark
+    public Crazy8Game.Player playGame() {
+        return new Crazy8Game(seatFactories, nextSeed++, GameEventSink.SILENT).playGame();
+    }
+
+}
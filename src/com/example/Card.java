@@ -1,7 +1,7 @@
 package com.example;
 
 import java.util.ArrayList;
-import java.util.EnumSet;
+import java.util.Arrays;
 import java.util.List;
 
 /*
@@ -12,6 +12,10 @@ import java.util.List;
 
 /**
  * Represents a standard playing card from a 52 card deck.
+ *
+ * Every card also has a compact index from 0 to 51 (suit ordinal * 13 + rank ordinal), which is also
+ * its position in getDeck(). The 52 canonical cards are shared instances, use Card.of to get them
+ * instead of creating new ones.
  */
 public class Card {
 
@@ -33,12 +37,134 @@ public class Card {
         KING
     }
 
-    private Suit suit;
-    private Rank rank;
+    /**
+     * Number of cards in a standard deck.
+     */
+    public static final int DECK_SIZE = 52;
+
+    /**
+     * Number of ranks in each suit.
+     */
+    public static final int RANKS_PER_SUIT = 13;
+
+    /**
+     * Largest number of decks a game can be played with.
+     */
+    public static final int MAX_DECKS = 4;
+
+    private static final Suit[] SUITS = Suit.values();
+    private static final Rank[] RANKS = Rank.values();
+    private static final int[] POINT_VALUES = new int[DECK_SIZE];
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (int index = 0; index < DECK_SIZE; index++) {
+            CARDS[index] = new Card(suitOf(index), rankOf(index));
+            POINT_VALUES[index] = pointValueOf(rankOf(index));
+        }
+    }
+
+    private final Suit suit;
+    private final Rank rank;
+    private final int index;
 
     public Card(Suit suit, Rank rank) {
         this.suit = suit;
         this.rank = rank;
+        this.index = suit.ordinal() * RANKS_PER_SUIT + rank.ordinal();
+    }
+
+    /**
+     * Gets the shared instance of a card.
+     *
+     * @param index The index of the card, from 0 to 51
+     * @return The canonical card with that index
+     */
+    public static Card of(int index) {
+        return CARDS[index];
+    }
+
+    /**
+     * Gets the shared instance of a card.
+     *
+     * @param suit The suit of the card
+     * @param rank The rank of the card
+     * @return The canonical card with that suit and rank
+     */
+    public static Card of(Suit suit, Rank rank) {
+        return CARDS[suit.ordinal() * RANKS_PER_SUIT + rank.ordinal()];
+    }
+
+    /**
+     * Gets the id of one physical card when several decks are shuffled together.
+     * The copies of a card in different decks play the same and share the instance from of,
+     * the id only tells them apart, for example to build the unshuffled piles of a game.
+     *
+     * @param deck The deck the card comes from, from 0 to MAX_DECKS - 1
+     * @param index The index of the card, from 0 to 51
+     * @return deck * DECK_SIZE + index
+     */
+    public static int idOf(int deck, int index) {
+        return deck * DECK_SIZE + index;
+    }
+
+    /**
+     * Gets the deck of a physical card.
+     *
+     * @param id The id of the card, see idOf
+     * @return The deck the card comes from
+     */
+    public static int deckOf(int id) {
+        return id / DECK_SIZE;
+    }
+
+    /**
+     * Gets the shared instance of a physical card.
+     *
+     * @param id The id of the card, see idOf
+     * @return The canonical card with the suit and rank of that card
+     */
+    public static Card ofId(int id) {
+        return CARDS[id % DECK_SIZE];
+    }
+
+    /**
+     * Gets the suit of the card with the given index.
+     *
+     * @param index The index of the card, from 0 to 51
+     * @return The suit of that card
+     */
+    public static Suit suitOf(int index) {
+        return SUITS[index / RANKS_PER_SUIT];
+    }
+
+    /**
+     * Gets the rank of the card with the given index.
+     *
+     * @param index The index of the card, from 0 to 51
+     * @return The rank of that card
+     */
+    public static Rank rankOf(int index) {
+        return RANKS[index % RANKS_PER_SUIT];
+    }
+
+    /**
+     * Gets the Crazy8s point value of the card with the given index.
+     *
+     * @param index The index of the card, from 0 to 51
+     * @return An integer representing that card's point value
+     */
+    public static int pointValueOf(int index) {
+        return POINT_VALUES[index];
+    }
+
+    /**
+     * Gets the compact index of this card.
+     *
+     * @return An integer from 0 to 51 identifying this card's suit and rank
+     */
+    public int getIndex() {
+        return index;
     }
 
     public Suit getSuit() {
@@ -55,6 +181,13 @@ public class Card {
      * @return An integer representing this card's point value
      */
     public int getPointValue() {
+        return POINT_VALUES[index];
+    }
+
+    /**
+     * Computes the Crazy8s point value of a rank, used to fill the point value table.
+     */
+    private static int pointValueOf(Rank rank) {
         // Face cards return 10 pts
         if (rank.ordinal() >= Rank.JACK.ordinal()) {
             return 10;
@@ -70,18 +203,21 @@ public class Card {
 
     /**
      * Returns a list of the standard 52 cards in an unshuffled card deck.
+     * The list is new and can be shuffled, the cards in it are the shared instances.
      *
      * @return A list representing a standard deck
      */
     public static List<Card> getDeck() {
-        List<Card> cardDeck = new ArrayList<>();
+        return new ArrayList<>(Arrays.asList(CARDS));
+    }
 
-        for (Suit suit : EnumSet.allOf(Suit.class)) {
-            for (Rank rank : EnumSet.allOf(Rank.class)) {
-                cardDeck.add(new Card(suit, rank));
-            }
-        }
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Card && ((Card) other).index == index;
+    }
 
-        return cardDeck;
+    @Override
+    public int hashCode() {
+        return index;
     }
 }
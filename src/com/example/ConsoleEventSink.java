@@ -0,0 +1,66 @@
+package com.example;
+
+/**
+ * Prints the events of a Crazy 8 game to the console.
+ */
+public class ConsoleEventSink implements GameEventSink {
+
+    @Override
+    public void onRoundStarted(Card firstCard) {
+        System.out.println("The first card is  " + firstCard.getRank() + " of " + firstCard.getSuit());
+    }
+
+    @Override
+    public void onCardDrawn(int playerId) {
+        System.out.println("Player " + playerId + " drew a card");
+    }
+
+    @Override
+    public void onCardPlayed(int playerId, Card card) {
+        System.out.println("Player " + playerId + " placed a " + card.getRank() + " of " + card.getSuit());
+    }
+
+    @Override
+    public void onEightPlayed(int playerId, Card eight, Card.Suit declaredSuit) {
+        System.out.println("Player " + playerId + " placed an 8 and declared a new suit: " + declaredSuit);
+    }
+
+    @Override
+    public void onDiscardsReshuffled(int numCards) {
+        System.out.println("The discard pile was shuffled into a new draw pile of " + numCards + " cards");
+    }
+
+    @Override
+    public void onRoundEnded() {
+        System.out.println("--------------------------------------");
+        System.out.println("THIS ROUND HAS ENDED");
+    }
+
+    @Override
+    public void onRoundTied() {
+        System.out.println("The round was a tie.");
+    }
+
+    @Override
+    public void onRoundWon(int playerId) {
+        System.out.println("The winner of this round is Player " + playerId);
+        System.out.println("--------------------------------------");
+    }
+
+    @Override
+    public void onPlayerScore(int playerId, int score) {
+        System.out.println("Player " + playerId + " has a score of: " + score);
+    }
+
+    @Override
+    public void onRuleViolation(RuleViolation violation) {
+        System.out.println("The game has ended because someone cheated.");
+    }
+
+    @Override
+    public void onGameWon(int playerId) {
+        System.out.println("\n--------------------------------------");
+        System.out.println("CONGRATULATIONS PLAYER " + playerId + ", YOU HAVE WON THE GAME");
+    }
+
+}
@@ -2,34 +2,221 @@ package com.example;
 
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 
+/**
+ * Runs a game of Crazy 8s between PlayerStrategy instances, one per seat.
+ * The game keeps the authoritative hands, scores and piles, and drives each strategy through the
+ * PlayerStrategy protocol: processOpponentActions, shouldDrawCard, then either receiveCard or playCard and,
+ * for an 8, declareSuit.
+ */
 public class Crazy8Game {
 
-    private List<Card> drawPile;
-    private List<Card> discardDeck;
+    /**
+     * Number of recent turns kept in the turn history, raised for tables with more players than that.
+     */
+    private static final int TURN_HISTORY_CAPACITY = 16;
+
+    /**
+     * Largest number of players one deck is enough for.
+     */
+    public static final int MAX_PLAYERS_PER_DECK = 8;
+
+    /**
+     * Largest number of players at a table of Card.MAX_DECKS decks.
+     */
+    public static final int MAX_PLAYERS = MAX_PLAYERS_PER_DECK * Card.MAX_DECKS;
+
+    private final int numDecks;
+    private final DrawPile drawPile;
+    private final DiscardPile discardPile;
+    private boolean reshuffleDiscards;
     private Player[] players;
     private Card.Suit currentSuit;
     private Card.Rank currentRank;
-    private LinkedList<PlayerTurn> allPlayerActions = new LinkedList<>();
+    private Card.Suit declaredSuit;
+    private final TurnHistory allPlayerActions;
+    private GameEventSink eventSink;
+    private Instrumentation instrumentation = Instrumentation.NOOP;
+    private long seed;
+    private SplittableRandom random;
+    private RuleValidator ruleValidator;
+    private RuleViolation ruleViolation;
+    private int roundsPlayed;
+    private boolean roundCounted;
+    private int turnsPlayed;
+    private int emptyHands;
+    private int tablePoints;
+    private boolean gameWon;
 
     /**
-     * Constructor for a new Crazy 8 game.
+     * Constructor for a new headless Crazy 8 game, events are not reported anywhere.
      * Gets a card deck, shuffles, distributes 5 cards to each player, and places first card in discard pile.
      */
     public Crazy8Game(int numPlayers) throws IllegalArgumentException {
+        this(numPlayers, GameEventSink.SILENT);
+    }
+
+    /**
+     * Constructor for a new Crazy 8 game that reports its events to the given sink.
+     * @param numPlayers the number of players in the game.
+     * @param eventSink receives every event of the game, use GameEventSink.SILENT for none.
+     */
+    public Crazy8Game(int numPlayers, GameEventSink eventSink) throws IllegalArgumentException {
+        this(numPlayers, ThreadLocalRandom.current().nextLong(), eventSink);
+    }
+
+    /**
+     * Constructor for a new Crazy 8 game between greedy players whose shuffles and random choices all come
+     * from the given seed. A game is completely determined by its seed, so it can be replayed from the seed alone.
+     * Games with their own seed share no mutable state, so many of them can be played on different threads.
+     * @param numPlayers the number of players in the game.
+     * @param seed the seed of the game's SplittableRandom, used for every random decision in this game.
+     * @param eventSink receives every event of the game, use GameEventSink.SILENT for none.
+     */
+    public Crazy8Game(int numPlayers, long seed, GameEventSink eventSink) throws IllegalArgumentException {
+        this(greedySeats(numPlayers), seed, eventSink);
+    }
+
+    /**
+     * Constructor for a new Crazy 8 game that creates the strategy of every seat.
+     * Each strategy gets its own generator split off the game's generator, so the game still only depends on the seed
+     * as long as the strategies only use that generator.
+     * @param seatFactories the factory for each seat, seat 0 is player 1.
+     * @param seed the seed of the game's SplittableRandom.
+     * @param eventSink receives every event of the game, use GameEventSink.SILENT for none.
+     */
+    public Crazy8Game(StrategyFactory[] seatFactories, long seed, GameEventSink eventSink)
+            throws IllegalArgumentException {
+        this(seatFactories, seed, eventSink, Instrumentation.NOOP);
+    }
+
+    /**
+     * Constructor for a new Crazy 8 game that creates the strategy of every seat and is instrumented from its
+     * first deal on.
+     * @param seatFactories the factory for each seat, seat 0 is player 1.
+     * @param seed the seed of the game's SplittableRandom.
+     * @param eventSink receives every event of the game, use GameEventSink.SILENT for none.
+     * @param instrumentation receives the phase timings and counts of the game, use Instrumentation.NOOP for none.
+     */
+    public Crazy8Game(StrategyFactory[] seatFactories, long seed, GameEventSink eventSink,
+                      Instrumentation instrumentation) throws IllegalArgumentException {
+        this(seatFactories, 1, seed, eventSink, instrumentation);
+    }
+
+    /**
+     * Constructor for a new Crazy 8 game with several decks shuffled together, for tables of more than 8 players.
+     * Each deck is enough for 8 players, so a game of up to MAX_PLAYERS players needs up to Card.MAX_DECKS decks.
+     * @param seatFactories the factory for each seat, seat 0 is player 1.
+     * @param numDecks the number of decks, from 1 to Card.MAX_DECKS.
+     * @param seed the seed of the game's SplittableRandom.
+     * @param eventSink receives every event of the game, use GameEventSink.SILENT for none.
+     * @param instrumentation receives the phase timings and counts of the game, use Instrumentation.NOOP for none.
+     */
+    public Crazy8Game(StrategyFactory[] seatFactories, int numDecks, long seed, GameEventSink eventSink,
+                      Instrumentation instrumentation) throws IllegalArgumentException {
+
+        checkNumPlayers(seatFactories.length, numDecks);
+
+        this.numDecks = numDecks;
+        this.drawPile = new DrawPile(numDecks);
+        this.discardPile = new DiscardPile(numDecks);
+        this.allPlayerActions = newTurnHistory(seatFactories.length);
+        setInstrumentation(instrumentation);
+        this.eventSink = eventSink;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+
+        PlayerStrategy[] strategies = new PlayerStrategy[seatFactories.length];
+        for (int seat = 0; seat < strategies.length; seat++) {
+            strategies[seat] = seatFactories[seat].create(random.split());
+            checkDecks(strategies[seat], numDecks);
+        }
+        seatPlayers(strategies);
+
+    }
+
+    /**
+     * Constructor for a new Crazy 8 game between strategies that were already created.
+     * @param strategies the strategy for each seat, seat 0 is player 1.
+     * @param seed the seed of the game's SplittableRandom, used for shuffling.
+     * @param eventSink receives every event of the game, use GameEventSink.SILENT for none.
+     */
+    public Crazy8Game(PlayerStrategy[] strategies, long seed, GameEventSink eventSink)
+            throws IllegalArgumentException {
+
+        checkNumPlayers(strategies.length, 1);
+
+        this.numDecks = 1;
+        this.drawPile = new DrawPile();
+        this.discardPile = new DiscardPile();
+        this.allPlayerActions = newTurnHistory(strategies.length);
+        this.eventSink = eventSink;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        seatPlayers(strategies);
 
-        if (numPlayers > 8) {
+    }
+
+    private static void checkNumPlayers(int numPlayers, int numDecks) throws IllegalArgumentException {
+
+        if (numDecks < 1 || numDecks > Card.MAX_DECKS) {
+            throw new IllegalArgumentException("Cannot play with " + numDecks + " decks");
+        }
+        if (numPlayers > MAX_PLAYERS_PER_DECK * numDecks) {
             throw new IllegalArgumentException("Too many players");
         }
 
+    }
+
+    /**
+     * MonteCarloStrategy infers the hidden cards of one deck, so it cannot sit at a table of several.
+     */
+    private static void checkDecks(PlayerStrategy strategy, int numDecks) throws IllegalArgumentException {
+
+        if (strategy instanceof DeadlineStrategy) {
+            strategy = ((DeadlineStrategy) strategy).getStrategy();
+        }
+        if (numDecks > 1 && strategy instanceof MonteCarloStrategy) {
+            throw new IllegalArgumentException("MonteCarloStrategy only plays with one deck, not " + numDecks);
+        }
+
+    }
+
+    /**
+     * Creates a turn history long enough for a player to see every opponent's turn since its own last turn.
+     */
+    private static TurnHistory newTurnHistory(int numPlayers) {
+        return new TurnHistory(Math.max(TURN_HISTORY_CAPACITY, numPlayers + 1));
+    }
+
+    private static StrategyFactory[] greedySeats(int numPlayers) throws IllegalArgumentException {
+
+        checkNumPlayers(numPlayers, 1);
+
+        StrategyFactory[] seatFactories = new StrategyFactory[numPlayers];
+        Arrays.fill(seatFactories, (StrategyFactory) GreedyStrategy::new);
+        return seatFactories;
+
+    }
+
+    /**
+     * Gives every strategy a seat, initializes it and deals the first round.
+     * @param strategies the strategy for each seat.
+     */
+    private void seatPlayers(PlayerStrategy[] strategies) {
+
         //initializing fields
-        this.players = new Player[numPlayers];
+        this.ruleValidator = new RuleValidator(strategies.length);
+        this.players = new Player[strategies.length];
+        //every hand is empty until the first deal
+        this.emptyHands = players.length;
 
         //Initialize each player
         for (int playerNum = 0; playerNum < players.length; playerNum++) {
 
-            players[playerNum] = new Player();
+            players[playerNum] = new Player(strategies[playerNum]);
 
             //get the IDs for the other players
             List<Integer> otherPlayerIDs = new LinkedList<>();
@@ -44,13 +231,14 @@ public class Crazy8Game {
 
         }
 
+        eventSink.onGameStarted(players.length, numDecks, seed);
         prepareNewRound();
 
     }
 
     /**
      * Automatically plays a Crazy 8 Game
-     * @return the winner of the game.
+     * @return the winner of the game, null if the game was stopped because someone cheated.
      */
     public Player playGame() {
 
@@ -59,11 +247,15 @@ public class Crazy8Game {
         while (winner == null) {
 
             playRound();
+            if (ruleViolation != null) {
+                return null;
+            }
+
             winner = findWinner();
 
             if (winner != null) {
-                System.out.println("\n--------------------------------------");
-                System.out.println("CONGRATULATIONS PLAYER " + winner.getPlayerId() + ", YOU HAVE WON THE GAME");
+                gameWon = true;
+                eventSink.onGameWon(winner.getPlayerId());
                 return winner;
             }
 
@@ -75,30 +267,83 @@ public class Crazy8Game {
 
     }
 
+    /**
+     * Plays the next turn of the game, for callers that drive a game one turn at a time.
+     * A turn that ends the round also scores it, and the next round is dealt unless somebody won the game.
+     * @return true if the game goes on, false if it was won or stopped because someone cheated.
+     */
+    public boolean playNextTurn() {
+
+        if (ruleViolation != null || gameWon) {
+            return false;
+        }
+
+        countRound();
+
+        getPlayer(ruleValidator.getNextPlayerId()).playTurn();
+        turnsPlayed++;
+        if (ruleViolation != null) {
+            return false;
+        }
+
+        if (!checkRoundEnded()) {
+            return true;
+        }
+
+        eventSink.onRoundEnded();
+        adjustPlayerScores(findRoundWinner());
+        printScores();
+
+        Player winner = findWinner();
+        if (winner != null) {
+            gameWon = true;
+            eventSink.onGameWon(winner.getPlayerId());
+            return false;
+        }
+
+        prepareNewRound();
+        return true;
+
+    }
+
+    /**
+     * Counts the round in progress once, when its first turn is played. A round resumed from a snapshot was
+     * counted by the game it was taken from.
+     */
+    private void countRound() {
+
+        if (!roundCounted) {
+            roundsPlayed++;
+            roundCounted = true;
+        }
+
+    }
+
     /**
      * Plays a round of Crazy 8s and modifies the player scores accordingly
      * @return the winner for the round, null if the round was a tie.
-     * Exits the game if there is a cheater detected.
+     * Every turn is checked by the rule validator as it is taken, the game stops without
+     * scoring the round if a turn breaks the rules. A round restored from a snapshot goes on from the player
+     * whose turn it is.
      */
     public Player playRound() {
 
         Player roundWinner = null;
+        countRound();
 
         boolean roundEnded = false;
         while (!roundEnded) {
-            for (int playerNum = 1; playerNum <= players.length; playerNum++) {
-                getPlayer(playerNum).playTurn();
-                //Check if the players turn caused the round to end
-                roundEnded = checkRoundEnded();
-                if (roundEnded) {
-                    System.out.println("--------------------------------------");
-                    System.out.println("THIS ROUND HAS ENDED");
-                    break;
-                } else if (checkCheating()) {
-                    System.out.println("The game has ended because someone cheated.");
-                    System.exit(0);
-                    return null;
-                }
+            getPlayer(ruleValidator.getNextPlayerId()).playTurn();
+            turnsPlayed++;
+
+            if (ruleViolation != null) {
+                return null;
+            }
+
+            //Check if the players turn caused the round to end
+            roundEnded = checkRoundEnded();
+            if (roundEnded) {
+                eventSink.onRoundEnded();
             }
         }
 
@@ -116,23 +361,24 @@ public class Crazy8Game {
      */
     public void adjustPlayerScores(Player roundWinner) {
 
+        long start = instrumentation.start();
         if (roundWinner == null) {
             //In this case of a tie game, add points of all opponents cards for each player
             for (Player player : getPlayers()) {
                 player.setPlayerScore(player.getPlayerScore() + player.sumOfOtherPlayerCards());
             }
-            System.out.println("The round was a tie.");
+            eventSink.onRoundTied();
             //returns null if there is not yet a winner
         } else {
             //in the case of one round winner, add points of all opponents card for only that winner
             roundWinner = findRoundWinner();
             roundWinner.setPlayerScore(roundWinner.getPlayerScore() + roundWinner.sumOfOtherPlayerCards());
 
-            System.out.println("The winner of this round is Player " + roundWinner.getPlayerId());
-            System.out.println("--------------------------------------");
+            eventSink.onRoundWon(roundWinner.getPlayerId());
             //returns null if there is not yet a winner
 
         }
+        instrumentation.end(Instrumentation.Phase.SCORING, start);
 
     }
 
@@ -153,12 +399,246 @@ public class Crazy8Game {
         return players[playerId - 1];
     }
 
+    /**
+     * Gets the seed this game was created with, a new game with the same seed replays this game.
+     * @return the seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Checks if the game was stopped because a cheater was detected.
+     * @return true if someone cheated, false if not.
+     */
+    public boolean isCheaterDetected() {
+        return ruleViolation != null;
+    }
+
+    /**
+     * Gets the broken rule that stopped the game.
+     * @return the violation, or null if nobody cheated.
+     */
+    public RuleViolation getRuleViolation() {
+        return ruleViolation;
+    }
+
+    /**
+     * Gets the number of rounds played in this game so far.
+     * @return the number of rounds played.
+     */
+    public int getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * Gets the number of turns played in this game so far, over all rounds.
+     * @return the number of turns played.
+     */
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
     /**
      * Gets the current drawPile
-     * @return drawPile
+     * @return a read-only view of the drawPile, the card at position 0 is drawn next.
      */
     public List<Card> getDrawPile() {
-        return drawPile;
+        return drawPile.asList();
+    }
+
+    /**
+     * Puts the game in the state of a snapshot, so it can be played on from there.
+     * Every strategy is reset and gets its hand as its initial cards. The cards under the top of the discard pile and
+     * the reshuffle rule come from the snapshot too. What a snapshot does not hold starts afresh: the turn history,
+     * the order of the cards under the top card, and the game's generator for later shuffles.
+     * @param state a state with as many seats as this game has players.
+     */
+    public void restore(GameState state) {
+
+        checkOneDeck();
+        if (state.numSeats != players.length) {
+            throw new IllegalArgumentException("The state has " + state.numSeats + " seats, the game "
+                    + players.length + " players");
+        }
+
+        allPlayerActions.clear();
+        ruleViolation = null;
+
+        drawPile.setCards(state.drawPile, state.drawTop, state.drawEnd);
+        discardPile.clear();
+        for (long cards = state.discards; cards != 0; cards &= cards - 1) {
+            discardPile.add(Card.of(Long.numberOfTrailingZeros(cards)));
+        }
+        reshuffleDiscards = state.reshuffleDiscards;
+        Card topCard = Card.of(state.topCard);
+        addToDiscardDeck(topCard);
+        currentSuit = Card.Suit.values()[state.pileSuit];
+        if (topCard.getRank() == Card.Rank.EIGHT) {
+            declaredSuit = currentSuit;
+        }
+
+        for (int seat = 0; seat < players.length; seat++) {
+            List<Card> hand = new ArrayList<>();
+            for (long cards = state.hands[seat]; cards != 0; cards &= cards - 1) {
+                hand.add(Card.of(Long.numberOfTrailingZeros(cards)));
+            }
+            players[seat].receiveInitialCards(hand);
+            players[seat].setPlayerScore(state.scores[seat]);
+        }
+        gameWon = findWinner() != null;
+
+        ruleValidator.restore(topCard, currentSuit, state.seat + 1);
+        roundCounted = true;
+
+    }
+
+    /**
+     * Takes a snapshot of the round as it is between two turns.
+     * @return a new state with the hands, the piles, the player to move and the scores of this game.
+     */
+    public GameState snapshot() {
+
+        GameState state = new GameState(players.length);
+        snapshot(state);
+        return state;
+
+    }
+
+    /**
+     * Takes a snapshot of the round as it is between two turns into an existing state, which allocates nothing.
+     * @param state a state with as many seats as this game has players.
+     */
+    public void snapshot(GameState state) {
+
+        checkOneDeck();
+        if (state.numSeats != players.length) {
+            throw new IllegalArgumentException("The state has " + state.numSeats + " seats, the game "
+                    + players.length + " players");
+        }
+
+        for (int seat = 0; seat < players.length; seat++) {
+            state.hands[seat] = players[seat].getCurrentDeck().getMask();
+            state.scores[seat] = players[seat].getPlayerScore();
+        }
+        state.drawTop = 0;
+        state.drawEnd = drawPile.copyTo(state.drawPile);
+        state.topCard = discardPile.getTop().getIndex();
+        state.pileSuit = currentSuit.ordinal();
+
+        //every card of the deck that is in no hand, not in the draw pile and not on top is under the top card
+        long placed = 1L << state.topCard;
+        for (int seat = 0; seat < players.length; seat++) {
+            placed |= state.hands[seat];
+        }
+        for (int position = 0; position < state.drawEnd; position++) {
+            placed |= 1L << state.drawPile[position];
+        }
+        state.discards = (1L << Card.DECK_SIZE) - 1 & ~placed;
+        state.reshuffleDiscards = reshuffleDiscards;
+        state.seat = ruleValidator.getNextPlayerId() - 1;
+        state.roundOver = checkRoundEnded();
+        state.turnNumber = allPlayerActions.getTotalRecorded();
+
+    }
+
+    /**
+     * GameState holds every card once, so only games of one deck have snapshots.
+     */
+    private void checkOneDeck() throws IllegalStateException {
+
+        if (numDecks != 1) {
+            throw new IllegalStateException("Games of " + numDecks + " decks have no snapshots");
+        }
+
+    }
+
+    /**
+     * Gets the point total of every hand at the table, which the players keep up to date as they take and place
+     * cards, so scoring a round never walks the hands.
+     * @return the sum of the point values of all cards in the players' hands.
+     */
+    public int getTablePoints() {
+        return tablePoints;
+    }
+
+    /**
+     * Gets the number of decks the game is played with.
+     * @return from 1 to Card.MAX_DECKS.
+     */
+    public int getNumDecks() {
+        return numDecks;
+    }
+
+    /**
+     * Gets the player who takes the next turn.
+     * @return the id of that player, from 1 to the number of players.
+     */
+    public int getNextPlayerId() {
+        return ruleValidator.getNextPlayerId();
+    }
+
+    /**
+     * Gets the card on top of the discard pile.
+     * @return the card the next card is placed on.
+     */
+    public Card getTopCard() {
+        return discardPile.getTop();
+    }
+
+    /**
+     * Gets the suit declared with the 8 on top of the discard pile.
+     * @return the declared suit, null if the top card is not an 8.
+     */
+    public Card.Suit getDeclaredSuit() {
+        return declaredSuit;
+    }
+
+    /**
+     * Gets the current discard pile
+     * @return a read-only view of the discard pile, the top card is last.
+     */
+    public List<Card> getDiscardPile() {
+        return discardPile.asList();
+    }
+
+    /**
+     * Checks if the discard pile is shuffled into a new draw pile when a player has to draw from an empty one.
+     * @return true if discards are reshuffled, false if an empty draw pile ends the round.
+     */
+    public boolean isReshuffleDiscards() {
+        return reshuffleDiscards;
+    }
+
+    /**
+     * Turns the reshuffle rule on or off. It is off by default, so an empty draw pile ends the round as it always did.
+     * With the rule on, the round only ends on an empty draw pile when the discard pile has nothing under its top card.
+     * @param reshuffleDiscards true to shuffle the discards into a new draw pile when it runs out.
+     */
+    public void setReshuffleDiscards(boolean reshuffleDiscards) {
+        this.reshuffleDiscards = reshuffleDiscards;
+    }
+
+    /**
+     * Gets the instrumentation the game reports its phase timings and counts to.
+     * @return the instrumentation, Instrumentation.NOOP unless one was set.
+     */
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Sets the instrumentation the game reports its phase timings and counts to, from the next phase on.
+     * The constructor already dealt the first round, pass the instrumentation to the constructor to time that deal too.
+     * @param instrumentation the instrumentation, Instrumentation.NOOP for none.
+     */
+    public void setInstrumentation(Instrumentation instrumentation) {
+
+        if (instrumentation == null) {
+            throw new IllegalArgumentException("Use Instrumentation.NOOP instead of null");
+        }
+        this.instrumentation = instrumentation;
+
     }
 
     /**
@@ -167,7 +647,7 @@ public class Crazy8Game {
      */
     public void setDrawPile(LinkedList<Card> drawPile) {
 
-        this.drawPile = drawPile;
+        this.drawPile.setCards(drawPile);
 
     }
 
@@ -176,7 +656,20 @@ public class Crazy8Game {
      * @param allPlayerActions player actions list.
      */
     public void setAllPlayerActions(LinkedList<PlayerTurn> allPlayerActions) {
-        this.allPlayerActions = allPlayerActions;
+
+        this.allPlayerActions.clear();
+        for (PlayerTurn turn : allPlayerActions) {
+            this.allPlayerActions.record(turn.playerId, turn.drewACard, turn.playedCard, turn.declaredSuit);
+        }
+
+    }
+
+    /**
+     * Gets the history of the turns in the current round.
+     * @return the turn history, which only keeps the most recent turns unless the full history is turned on.
+     */
+    public TurnHistory getTurnHistory() {
+        return allPlayerActions;
     }
 
     /**
@@ -230,9 +723,30 @@ public class Crazy8Game {
      */
     private void addToDiscardDeck(Card toAdd) {
 
-        discardDeck.add(toAdd);
+        discardPile.add(toAdd);
         currentRank = toAdd.getRank();
         currentSuit = toAdd.getSuit();
+        declaredSuit = null;
+
+    }
+
+    /**
+     * Checks a turn with the rule validator before it is applied to the game.
+     * A turn that breaks the rules stops the game and is reported to the event sink.
+     * @param turn the turn a player wants to take.
+     * @param hand the hand of that player.
+     * @return true if the turn may be applied.
+     */
+    private boolean acceptTurn(PlayerTurn turn, Hand hand) {
+
+        long start = instrumentation.start();
+        ruleViolation = ruleValidator.validate(turn, hand);
+        instrumentation.end(Instrumentation.Phase.VALIDATION, start);
+        if (ruleViolation != null) {
+            eventSink.onRuleViolation(ruleViolation);
+            return false;
+        }
+        return true;
 
     }
 
@@ -241,111 +755,141 @@ public class Crazy8Game {
      */
     public void prepareNewRound() {
 
-        allPlayerActions = new LinkedList<>();
+        long start = instrumentation.start();
+        allPlayerActions.clear();
 
-        drawPile = Card.getDeck();
-        Collections.shuffle(drawPile);
+        drawPile.reset();
+        drawPile.shuffle(random);
         //Gives each player 5 cards from the draw pile
         for (Player player : players) {
-            LinkedList<Card> playerDeck = new LinkedList<>();
-            for (int i = 0; i < 5; i++) {
-                playerDeck.add(drawPile.get(0));
-                drawPile.remove(0);
-            }
-            player.receiveInitialCards(playerDeck);
+            player.receiveInitialCards(drawPile.deal(5));
         }
 
         //Take the card from the top of the pile and add it to the discard pile (can't be an 8).
-        Card topCard = drawPile.get(0);
-        drawPile.remove(topCard);
-        //ensure the card is not 8
-        while (topCard.getRank() == Card.Rank.EIGHT) {
-            //shuffles the 8 card back into the draw pile
-            drawPile.add(new Random().nextInt(drawPile.size()), topCard);
-
-            topCard = drawPile.get(0);
-            drawPile.remove(topCard);
+        //an 8 on top is swapped with a random card of the pile until the top is not an 8
+        while (drawPile.peek().getRank() == Card.Rank.EIGHT) {
+            drawPile.swapTop(random);
         }
+        Card topCard = drawPile.draw();
 
-        discardDeck = new LinkedList<>();
+        discardPile.clear();
         //add the non-8 card to the discard pile.
         addToDiscardDeck(topCard);
-        System.out.println("The first card is  " + topCard.getRank() + " of " +topCard.getSuit());
+        ruleValidator.startRound(topCard);
+        roundCounted = false;
+        instrumentation.end(Instrumentation.Phase.DEAL, start);
+        eventSink.onRoundStarted(topCard);
 
     }
 
     /**
-     * Checks if one of the players are cheating, if they are the game ends.
+     * Checks if the last card placed could legally follow the card placed on the turn before it.
+     * playRound validates every turn as it is taken, this only looks at the last two turns of the history.
      * @return true if there is a cheater, false if not.
      */
     public boolean checkCheating() {
 
+        long start = instrumentation.start();
+        boolean cheating = isLastPlayIllegal();
+        instrumentation.end(Instrumentation.Phase.VALIDATION, start);
+        return cheating;
+
+    }
+
+    /**
+     * Compares the cards placed on the last two turns of the history.
+     * @return true if the last card could not legally follow the one before it.
+     */
+    private boolean isLastPlayIllegal() {
+
         if (allPlayerActions.size() <= 1) {
             return false;
         }
 
-        Card cardBeforePlay = allPlayerActions.get(allPlayerActions.size() - 2).playedCard;
-        Card cardAfterPlay = allPlayerActions.get(allPlayerActions.size() - 1).playedCard;
+        Card cardBeforePlay = allPlayerActions.getLast(1).playedCard;
+        Card cardAfterPlay = allPlayerActions.getLast(0).playedCard;
 
         //Checks to make sure the PlayerTurn is valid
         if (cardBeforePlay == null || cardAfterPlay == null) {
             return false;
-        } else if (cardBeforePlay.getSuit() != cardAfterPlay.getSuit() && cardBeforePlay.getRank()
-                != cardAfterPlay.getRank() && cardAfterPlay.getRank() != Card.Rank.EIGHT && cardBeforePlay.getRank()
-                != Card.Rank.EIGHT) {
-            return true;
         }
 
-        return false;
+        //After an 8 the declared suit replaces the suit of the 8
+        Card.Suit declaredSuit = allPlayerActions.getLast(1).declaredSuit;
+        Card.Suit pileSuit = declaredSuit != null ? declaredSuit : cardBeforePlay.getSuit();
+        return !RuleValidator.isLegalPlay(pileSuit, cardBeforePlay.getRank(), cardAfterPlay);
 
     }
 
     /**
      * Checks if any condition to end the round is satisfied.
-     * @return true if there is a draw, a player won the round, or somebody is cheating
+     * @return true if there is a draw, a player won the round, or somebody is cheating.
+     * With the reshuffle rule on, an empty draw pile only ends the round if there are no discards to reshuffle.
      */
     public boolean checkRoundEnded() {
 
-        if (drawPile.size() == 0) {
-            return true;
-        }
+        long start = instrumentation.start();
+        //the players keep count of their empty hands, so the check does not grow with the table
+        boolean roundEnded = emptyHands > 0 || drawPile.isEmpty() && !(reshuffleDiscards && discardPile.size() > 1);
+        instrumentation.end(Instrumentation.Phase.VALIDATION, start);
+        return roundEnded;
 
-        for (Player player : players) {
-            if (player.currentDeck.size() == 0) {
-                return true;
-            }
-        }
+    }
 
-        return false;
+    /**
+     * Shuffles the discard pile under its top card into the empty draw pile.
+     */
+    private void reshuffleDiscardsIntoDrawPile() {
+
+        int numCards = drawPile.refillFrom(discardPile, random);
+        instrumentation.count(Instrumentation.Counter.RESHUFFLES);
+        eventSink.onDiscardsReshuffled(numCards);
 
     }
 
     /**
-     * Prints scores after each round
+     * Reports scores to the event sink after each round
      */
     private void printScores() {
         for (Player player : players) {
-            System.out.println("Player " + player.getPlayerId() + " has a score of: " + player.getPlayerScore());
+            eventSink.onPlayerScore(player.getPlayerId(), player.getPlayerScore());
         }
     }
 
     /**
-     * Class that stores state and behavior of a player in the game, implements from PlayerStrategy
+     * A seat at the table. Holds the authoritative hand and score of a player and drives the player's strategy.
      */
-    class Player implements PlayerStrategy {
+    class Player {
 
-        private List<Card> currentDeck;
+        private final PlayerStrategy strategy;
+        private final Hand currentDeck = new Hand();
+        private final TurnHistory.RangeView opponentActions = allPlayerActions.newRangeView();
+        private long nextUnseenTurn;
         private int playerId;
         private List<Integer> opponentIDs;
         private int playerScore;
 
-        private int playerDeckIndex = -1;
+        /**
+         * Seats a strategy
+         * @param strategy the strategy that makes the decisions for this seat
+         */
+        Player(PlayerStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        /**
+         * Getter for the strategy playing this seat
+         * @return the strategy of this player
+         */
+        public PlayerStrategy getStrategy() {
+            return strategy;
+        }
 
         /**
          * Getter for the current deck of this player
-         * @return the current deck of this player
+         * @return the current deck of this player, ordered by card index
          */
-        public List<Card> getCurrentDeck() {
+        public Hand getCurrentDeck() {
             return currentDeck;
         }
 
@@ -386,202 +930,149 @@ public class Crazy8Game {
         }
 
         /**
-         * Receives initial cards for this player at beginning of each round
+         * Deals the initial cards for this player at beginning of each round, and passes them on to the strategy
          * @param initialDeck consists of the deck at the start of the round
          */
-        @Override
         public void receiveInitialCards(List<Card> initialDeck) {
+
             reset();
-            this.currentDeck = initialDeck;
+            currentDeck.addAll(initialDeck);
+            tablePoints += currentDeck.getPointTotal();
+            if (!currentDeck.isEmpty()) {
+                emptyHands--;
+            }
+            strategy.receiveInitialCards(initialDeck);
+
         }
 
         /**
-         * Initializes a player
+         * Initializes a player and its strategy
          * @param playerId The id for this player
          * @param opponentIDs a list of the opponent's IDs
          */
-        @Override
         public void init(int playerId, List<Integer> opponentIDs) {
             this.playerId = playerId;
             this.opponentIDs = opponentIDs;
             this.playerScore = 0;
+            strategy.init(playerId, opponentIDs);
         }
 
         /**
-         * Makes a turn for this player based on the current deck and top of the discard pile.
-         * @return a PlayerTurn object consisting of the properties of this turn
+         * Makes a turn for this player by asking its strategy to either draw or play a card.
+         * First the strategy gets the opponents' turns since its own last turn in the round, as a view over the
+         * turn history rather than a copy, so it must not keep the list after processOpponentActions returns.
+         * The turn is validated before it changes the game, an illegal turn stops the game instead.
+         * @return a PlayerTurn object consisting of the properties of this turn,
+         * which is a slot of the turn history and is reused after later turns
          */
         public PlayerTurn playTurn() {
 
-            PlayerTurn playerTurn = new PlayerTurn();
-            playerTurn.playerId = this.playerId;
+            //a hand dealt in the middle of a round only sees the turns the history still keeps
+            instrumentation.count(Instrumentation.Counter.TURNS);
+            long decisionStart = instrumentation.start();
+            long oldestKeptTurn = allPlayerActions.getTotalRecorded() - allPlayerActions.size();
+            opponentActions.setRange(Math.max(nextUnseenTurn, oldestKeptTurn), allPlayerActions.getTotalRecorded());
+            strategy.processOpponentActions(opponentActions);
+            //the turn recorded below is this player's own, so the next delta starts after it
+            nextUnseenTurn = allPlayerActions.getTotalRecorded() + 1;
 
             //Gets the current card at the top of the discard deck
-            Card topCard = discardDeck.get(discardDeck.size() - 1);
-
-            if (shouldDrawCard(topCard, currentSuit)) {
-
-                receiveCard(drawCard());
-                playerTurn.declaredSuit = null;
-                playerTurn.drewACard = true;
-                playerTurn.playedCard = null;
-                allPlayerActions.add(playerTurn);
-                System.out.println("Player " + playerId + " drew a card");
+            Card topCard = discardPile.getTop();
+
+            if (shouldDrawCard(topCard, declaredSuit)) {
+
+                instrumentation.endDecision(strategy, playerId, decisionStart);
+                PlayerTurn playerTurn = allPlayerActions.record(playerId, true, null, null);
+                if (acceptTurn(playerTurn, currentDeck)) {
+                    //only reached with the reshuffle rule on, otherwise the round ended with the last card
+                    if (drawPile.isEmpty()) {
+                        reshuffleDiscardsIntoDrawPile();
+                    }
+                    receiveCard(drawPile.draw());
+                    instrumentation.count(Instrumentation.Counter.DRAWS);
+                    eventSink.onCardDrawn(playerId);
+                }
                 return playerTurn;
 
             }
 
-            //This is an index that tells the Player object which card in its current deck is being checked
-            playerDeckIndex = 0;
-
-            for (Card card : currentDeck) {
-
-                //If it finds a suitable card to place, the card will be played
-                if (card.getSuit() == currentSuit || card.getRank() == currentRank
-                        && card.getRank() != Card.Rank.EIGHT) {
-
-                    playerTurn.drewACard = false;
-                    playerTurn.declaredSuit = null;
-                    playerTurn.playedCard = playCard();
-                    allPlayerActions.add(playerTurn);
-                    System.out.println("Player " + playerId + " placed a " + playerTurn.playedCard.getRank() +
-                            " of " + playerTurn.playedCard.getSuit());
-                    return playerTurn;
-
-                } else if (card.getRank() == Card.Rank.EIGHT) {
-
-                    playerTurn.drewACard  = false;
-                    playerTurn.playedCard = playCard();
-                    playerTurn.declaredSuit = declareSuit();
-                    allPlayerActions.add(playerTurn);
-                    System.out.println("Player " + playerId + " placed an 8 and declared a new suit: " +
-                            playerTurn.declaredSuit);
-                    return playerTurn;
-
-                }
-
-                //Notifies the player class that the next index will be checked
-                playerDeckIndex++;
+            Card playedCard = strategy.playCard();
+            Card.Suit newSuit = null;
+            if (playedCard != null && playedCard.getRank() == Card.Rank.EIGHT) {
+                newSuit = strategy.declareSuit();
+            }
+            instrumentation.endDecision(strategy, playerId, decisionStart);
 
+            PlayerTurn playerTurn = allPlayerActions.record(playerId, false, playedCard, newSuit);
+            if (!acceptTurn(playerTurn, currentDeck)) {
+                return playerTurn;
             }
 
+            currentDeck.remove(playedCard);
+            tablePoints -= playedCard.getPointValue();
+            if (currentDeck.isEmpty()) {
+                emptyHands++;
+            }
+            addToDiscardDeck(Card.of(playedCard.getIndex()));
+            if (newSuit != null) {
+                currentSuit = newSuit;
+                declaredSuit = newSuit;
+                eventSink.onEightPlayed(playerId, playedCard, newSuit);
+            } else {
+                eventSink.onCardPlayed(playerId, playedCard);
+            }
             return playerTurn;
 
         }
 
         /**
-         * Checks if the player should draw a card
+         * Asks the strategy if the player should draw a card
          * @param topPileCard The card currently at the top of the pile
          * @param pileSuit The suit that the pile was changed to as the result of an "8" being played.
          * Will be null if no "8" was played.
          * @return true if the player should draw a card, false otherwise
          */
-        @Override
         public boolean shouldDrawCard(Card topPileCard, Card.Suit pileSuit) {
-
-            for (Card card : currentDeck) {
-                if (pileSuit != null && card.getSuit() == pileSuit) {
-                    return false;
-                } else if (topPileCard.getRank() == card.getRank() || topPileCard.getSuit() == card.getSuit()) {
-                    return false;
-                } else if (card.getRank() == Card.Rank.EIGHT) {
-                    return false;
-                }
-            }
-
-            return true;
-
-        }
-
-        /**
-         * draws a card from the drawPile
-         * @return the card that was drawn
-         */
-        private Card drawCard() {
-
-            Card drawnCard = drawPile.get(0);
-            drawPile.remove(0);
-            currentDeck.add(drawnCard);
-            return drawnCard;
-
+            return strategy.shouldDrawCard(topPileCard, pileSuit);
         }
 
         /**
-         * Gets the sum of the values of the other players cards
+         * Gets the sum of the values of the other players cards, from the running point totals of the table and
+         * this player's hand, so it takes constant time and allocates nothing
          * @return the sum of the values of the other players cards.
          */
         public int sumOfOtherPlayerCards() {
-            int sumOfOtherPlayersCards = 0;
-            for (Player player : getOpponents()) {
-                List<Card> opponentsDeck = player.getCurrentDeck();
-                for (Card card : opponentsDeck) {
-                    sumOfOtherPlayersCards += card.getPointValue();
-                }
-            }
-            return sumOfOtherPlayersCards;
+            //the table total includes this player's own hand
+            return tablePoints - currentDeck.getPointTotal();
         }
 
         /**
-         * Adds a card to the deck
+         * Adds a drawn card to the deck and passes it on to the strategy
          * @param drawnCard The card that this player has drawn
          */
-        @Override
         public void receiveCard(Card drawnCard) {
 
+            if (currentDeck.isEmpty()) {
+                emptyHands--;
+            }
             currentDeck.add(drawnCard);
+            tablePoints += drawnCard.getPointValue();
+            strategy.receiveCard(drawnCard);
 
         }
 
         /**
-         * Takes a card from the player and adds it to the discard deck
-         * @return the card that was played
-         */
-        @Override
-        public Card playCard() {
-
-            Card playingCard = currentDeck.get(playerDeckIndex);
-            addToDiscardDeck(playingCard);
-            currentDeck.remove(playingCard);
-
-            return playingCard;
-
-        }
-
-        /**
-         * changes the current suit of the game.
-         * Can only be called if the player play's an 8
-         * @return the suit that the player declared.
-         */
-        @Override
-        public Card.Suit declareSuit() {
-
-            Random random = new Random();
-            //There are 4 suits in a game
-            int randomSuitIndex = random.nextInt(4);
-            currentSuit = Card.Suit.values()[randomSuitIndex];
-            currentRank = Card.Rank.EIGHT;
-            return currentSuit;
-
-        }
-
-        /**
-         * processes opponent actions
-         * in this case, the opponents actions do not affect the behavior of this player
-         * @param opponentActions A list of what the opponents did on each of their turns
+         * Resets a player and its strategy to restart the round.
          */
-        @Override
-        public void processOpponentActions(List<PlayerTurn> opponentActions) {
-
-        }
-
-        /**
-         * Resets a player to restart the round.
-         */
-        @Override
         public void reset() {
 
-            currentDeck = new LinkedList<>();
-            playerDeckIndex = -1;
+            if (!currentDeck.isEmpty()) {
+                emptyHands++;
+            }
+            tablePoints -= currentDeck.getPointTotal();
+            currentDeck.clear();
+            nextUnseenTurn = 0;
+            strategy.reset();
 
         }
     }
@@ -0,0 +1,248 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Calls a suspect strategy through a DecisionScheduler and makes a default move for it when a call overruns.
+ *
+ * The wrapper keeps its own copy of the hand and the pile, so it can always make a legal move: it plays the first
+ * playable card in card index order and draws when there is none. Once a call overran, the strategy still runs it and
+ * its idea of its hand is wrong, so it is not asked again until a new round starts after that call returned. Until
+ * then every move is the default move. Arguments are copied before they are handed to the strategy, because a call
+ * that overruns may still read them after the game changed them.
+ */
+public class DeadlineStrategy implements PlayerStrategy {
+
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    private final PlayerStrategy strategy;
+    private final DecisionScheduler scheduler;
+    private final Hand hand = new Hand();
+    private Card topPileCard;
+    private Card.Suit pileSuit;
+    private volatile boolean running;
+    private boolean initialized;
+    private boolean abandoned;
+    private int overruns;
+
+    /**
+     * Wraps a strategy.
+     * @param strategy the strategy that makes the decisions when it is in time.
+     * @param scheduler runs the calls of the strategy.
+     */
+    public DeadlineStrategy(PlayerStrategy strategy, DecisionScheduler scheduler) {
+        this.strategy = strategy;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Gets the wrapped strategy.
+     * @return the strategy the calls go to.
+     */
+    public PlayerStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets the number of calls of this strategy that overran the budget.
+     * @return the number of overruns.
+     */
+    public int getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * Checks if the strategy is left out of the decisions until the next round.
+     * @return true if a call overran in this round, a call of an earlier round still runs or init overran.
+     */
+    public boolean isAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * Runs a call of the strategy and waits for it no longer than the budget.
+     * @param call the call.
+     * @param fallback the result when the strategy is abandoned or the call overruns.
+     * @return the result of the call, or the fallback.
+     */
+    private <T> T call(Callable<T> call, T fallback) {
+
+        if (abandoned) {
+            return fallback;
+        }
+
+        //whoever claims the call first decides it: the task by starting it, or abandon by giving up before it started
+        AtomicBoolean claimed = new AtomicBoolean();
+        running = true;
+        Future<T> future = scheduler.submit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return call.call();
+            } finally {
+                running = false;
+            }
+        });
+
+        try {
+            return future.get(scheduler.getBudgetNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(future, claimed);
+            return fallback;
+        } catch (InterruptedException e) {
+            //the game is being stopped, it gets the default move and the interrupt
+            Thread.currentThread().interrupt();
+            abandon(future, claimed);
+            return fallback;
+        } catch (ExecutionException e) {
+            //a strategy that throws fails the game just as if it was called directly
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+
+    }
+
+    private void abandon(Future<?> future, AtomicBoolean claimed) {
+
+        future.cancel(true);
+        if (claimed.compareAndSet(false, true)) {
+            //the call never started and never will, so nothing of the strategy is still running
+            running = false;
+        }
+        abandoned = true;
+        overruns++;
+        scheduler.recordOverrun();
+
+    }
+
+    private void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        }, null);
+    }
+
+    @Override
+    public void init(int playerId, List<Integer> opponentIds) {
+
+        List<Integer> ids = new ArrayList<>(opponentIds);
+        run(() -> strategy.init(playerId, ids));
+        //a strategy that missed its init is never asked again
+        initialized = !abandoned;
+
+    }
+
+    @Override
+    public void receiveInitialCards(List<Card> cards) {
+
+        hand.clear();
+        hand.addAll(cards);
+        List<Card> dealt = new ArrayList<>(cards);
+        run(() -> strategy.receiveInitialCards(dealt));
+
+    }
+
+    /**
+     * Remembers the pile for the default move. The default is to draw only when no card can be placed.
+     */
+    @Override
+    public boolean shouldDrawCard(Card topPileCard, Card.Suit pileSuit) {
+
+        this.topPileCard = topPileCard;
+        this.pileSuit = pileSuit;
+        return call(() -> strategy.shouldDrawCard(topPileCard, pileSuit),
+                !hand.hasPlayableCard(topPileCard, pileSuit));
+
+    }
+
+    @Override
+    public void receiveCard(Card drawnCard) {
+        hand.add(drawnCard);
+        run(() -> strategy.receiveCard(drawnCard));
+    }
+
+    /**
+     * The default is the first playable card, or the first card of the hand if the strategy chose to play without
+     * one, which the game then rejects as it would have rejected the strategy's own choice.
+     */
+    @Override
+    public Card playCard() {
+
+        long playable = hand.getPlayableMask(topPileCard, pileSuit);
+        long choices = playable != 0 ? playable : hand.getMask();
+        Card fallback = choices == 0 ? null : Card.of(Long.numberOfTrailingZeros(choices));
+
+        Card card = call(strategy::playCard, fallback);
+        if (card != null) {
+            hand.remove(card);
+        }
+        return card;
+
+    }
+
+    /**
+     * The default is the suit the hand holds the most cards of.
+     */
+    @Override
+    public Card.Suit declareSuit() {
+
+        Card.Suit fallback = SUITS[0];
+        int most = -1;
+        for (Card.Suit suit : SUITS) {
+            int count = Long.bitCount(hand.getMask() & Hand.SUIT_MASKS[suit.ordinal()]);
+            if (count > most) {
+                fallback = suit;
+                most = count;
+            }
+        }
+        return call(strategy::declareSuit, fallback);
+
+    }
+
+    @Override
+    public void processOpponentActions(List<PlayerTurn> opponentActions) {
+
+        if (abandoned) {
+            return;
+        }
+
+        //the list is a view of the game's turn history, so the strategy gets copies of the turns
+        List<PlayerTurn> actions = new ArrayList<>(opponentActions.size());
+        for (PlayerTurn action : opponentActions) {
+            PlayerTurn copy = new PlayerTurn();
+            copy.playerId = action.playerId;
+            copy.drewACard = action.drewACard;
+            copy.playedCard = action.playedCard;
+            copy.declaredSuit = action.declaredSuit;
+            actions.add(copy);
+        }
+        run(() -> strategy.processOpponentActions(actions));
+
+    }
+
+    /**
+     * Starts a new round, which asks the strategy again unless its overrun call is still running.
+     */
+    @Override
+    public void reset() {
+
+        hand.clear();
+        abandoned = running || !initialized;
+        run(strategy::reset);
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.example;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the calls of suspect strategies on its own threads, so a game waits for each call no longer than a budget.
+ *
+ * Only strategies created by a factory from guard pay for the handoff to another thread, every other strategy is
+ * still called directly by the game. The threads are daemon threads of a cached pool: a call that overran keeps its
+ * thread until it returns, and a strategy that never returns cannot keep the JVM alive. One scheduler can guard the
+ * strategies of every game of a tournament.
+ */
+public class DecisionScheduler implements AutoCloseable {
+
+    /**
+     * The budget of one strategy call unless another one is given.
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+    private final long budgetNanos;
+    private final ExecutorService executor;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+
+    /**
+     * Creates a scheduler with the default budget.
+     */
+    public DecisionScheduler() {
+        this(DEFAULT_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a scheduler.
+     * @param budget the longest a strategy call may take.
+     * @param unit the unit of the budget.
+     */
+    public DecisionScheduler(long budget, TimeUnit unit) {
+
+        if (budget <= 0) {
+            throw new IllegalArgumentException("The budget must be positive");
+        }
+
+        this.budgetNanos = unit.toNanos(budget);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "strategy-call");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+    /**
+     * Wraps a factory so every strategy it creates has its calls run by this scheduler.
+     * @param factory the factory of a suspect strategy.
+     * @return a factory of DeadlineStrategies around the strategies of the given factory.
+     */
+    public StrategyFactory guard(StrategyFactory factory) {
+        return random -> new DeadlineStrategy(factory.create(random), this);
+    }
+
+    /**
+     * Starts a strategy call on one of the scheduler's threads.
+     */
+    <T> Future<T> submit(Callable<T> call) {
+        calls.increment();
+        return executor.submit(call);
+    }
+
+    /**
+     * Counts a call that did not return within the budget.
+     */
+    void recordOverrun() {
+        overruns.increment();
+    }
+
+    /**
+     * Gets the budget of one strategy call.
+     * @return the budget in nanoseconds.
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Gets the number of strategy calls the scheduler ran.
+     * @return the number of calls.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Gets the number of strategy calls that overran the budget.
+     * @return the number of overruns.
+     */
+    public long getOverruns() {
+        return overruns.sum();
+    }
+
+    /**
+     * Interrupts the calls that are still running and stops taking new ones.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
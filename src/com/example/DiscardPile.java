@@ -0,0 +1,129 @@
+package com.example;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The pile cards are placed on, stored as card indices in a fixed array with the top card last.
+ * Placing a card and reading the top card never allocate, and the cards under the top can be moved back into the
+ * draw pile in place when it runs out.
+ */
+public class DiscardPile {
+
+    private final int[] cards;
+    private int size;
+    private final List<Card> view = new ListView();
+
+    /**
+     * Creates an empty discard pile for one deck.
+     */
+    public DiscardPile() {
+        this(1);
+    }
+
+    /**
+     * Creates an empty discard pile for several decks.
+     * The pile holds card indices, so the cards it hands back to the draw pile have the ids of the first deck.
+     * @param numDecks the number of decks, from 1 to Card.MAX_DECKS.
+     */
+    public DiscardPile(int numDecks) {
+
+        if (numDecks < 1 || numDecks > Card.MAX_DECKS) {
+            throw new IllegalArgumentException("Cannot play with " + numDecks + " decks");
+        }
+        cards = new int[numDecks * Card.DECK_SIZE];
+
+    }
+
+    /**
+     * Removes every card from the pile.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Places a card on top of the pile.
+     * @param card the card to place.
+     */
+    public void add(Card card) {
+
+        if (size == cards.length) {
+            throw new IllegalStateException("The discard pile already has every card of the decks");
+        }
+        cards[size++] = card.getIndex();
+
+    }
+
+    /**
+     * Gets the card on top of the pile.
+     * @return the card placed last.
+     */
+    public Card getTop() {
+
+        if (size == 0) {
+            throw new IllegalStateException("The discard pile is empty");
+        }
+        return Card.of(cards[size - 1]);
+
+    }
+
+    /**
+     * Gets the number of cards in the pile.
+     * @return the size of the pile, including the top card.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves every card but the top card into an array and leaves only the top card in the pile.
+     * @param target the array to copy the cards into, in the order they were placed.
+     * @param offset the position in target of the first card.
+     * @return the number of cards moved.
+     */
+    public int takeAllButTop(int[] target, int offset) {
+
+        int moved = size - 1;
+        if (moved <= 0) {
+            return 0;
+        }
+
+        System.arraycopy(cards, 0, target, offset, moved);
+        cards[0] = cards[moved];
+        size = 1;
+        return moved;
+
+    }
+
+    /**
+     * Gets a read-only view of the pile, the card placed first is at position 0 and the top card last.
+     * The view follows the pile as cards are placed.
+     * @return the cards in the pile.
+     */
+    public List<Card> asList() {
+        return view;
+    }
+
+    /**
+     * Read-only List over the cards in the pile.
+     */
+    private class ListView extends AbstractList<Card> {
+
+        @Override
+        public Card get(int position) {
+
+            if (position < 0 || position >= size) {
+                throw new IndexOutOfBoundsException("Position " + position + " in a pile of " + size);
+            }
+            return Card.of(cards[position]);
+
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.example;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The pile players draw from, stored as card ids in a fixed array with a cursor at the top.
+ * Cards at positions top to end - 1 are still in the pile, the card at top is drawn next.
+ * Drawing and dealing only move the cursor, and shuffling swaps cards in place.
+ * A pile of several decks holds every physical card once, see Card.idOf. With one deck the id of a card is its index.
+ */
+public class DrawPile {
+
+    private final int numDecks;
+    private int[] cards;
+    private int top;
+    private int end;
+    private final List<Card> view = new ListView();
+
+    /**
+     * Creates an empty draw pile for one deck.
+     */
+    public DrawPile() {
+        this(1);
+    }
+
+    /**
+     * Creates an empty draw pile for several decks.
+     * @param numDecks the number of decks, from 1 to Card.MAX_DECKS.
+     */
+    public DrawPile(int numDecks) {
+
+        if (numDecks < 1 || numDecks > Card.MAX_DECKS) {
+            throw new IllegalArgumentException("Cannot play with " + numDecks + " decks");
+        }
+
+        this.numDecks = numDecks;
+        this.cards = new int[numDecks * Card.DECK_SIZE];
+
+    }
+
+    /**
+     * Puts every card of every deck back in the pile in unshuffled order, deck by deck.
+     */
+    public void reset() {
+
+        int numCards = numDecks * Card.DECK_SIZE;
+        for (int id = 0; id < numCards; id++) {
+            cards[id] = id;
+        }
+        top = 0;
+        end = numCards;
+
+    }
+
+    /**
+     * Replaces the pile with the given cards, the first card will be drawn first.
+     * @param newCards the cards that make up the pile.
+     */
+    public void setCards(List<Card> newCards) {
+
+        if (newCards.size() > cards.length) {
+            cards = new int[newCards.size()];
+        }
+
+        end = 0;
+        for (Card card : newCards) {
+            cards[end++] = card.getIndex();
+        }
+        top = 0;
+
+    }
+
+    /**
+     * Replaces the pile with a range of card ids, the first card will be drawn first.
+     * @param newCards the ids of the cards.
+     * @param from the position in newCards of the card drawn first.
+     * @param to the position in newCards after the last card.
+     */
+    public void setCards(int[] newCards, int from, int to) {
+
+        if (to - from > cards.length) {
+            cards = new int[to - from];
+        }
+
+        System.arraycopy(newCards, from, cards, 0, to - from);
+        top = 0;
+        end = to - from;
+
+    }
+
+    /**
+     * Shuffles the cards left in the pile (Fisher-Yates).
+     * @param random the generator that decides the order.
+     */
+    public void shuffle(SplittableRandom random) {
+
+        for (int i = end - 1; i > top; i--) {
+            swap(i, top + random.nextInt(i - top + 1));
+        }
+
+    }
+
+    /**
+     * Swaps the top card with a random card in the pile, which may be the top card itself.
+     * @param random the generator that picks the other card.
+     */
+    public void swapTop(SplittableRandom random) {
+        swap(top, top + random.nextInt(size()));
+    }
+
+    /**
+     * Refills an empty pile with every card of the discard pile but its top card, then shuffles it.
+     * The cards are moved between the two fixed arrays, nothing is allocated.
+     * @param discardPile the discard pile to take the cards from.
+     * @param random the generator that decides the new order.
+     * @return the number of cards in the refilled pile, 0 if the discard pile only had its top card.
+     */
+    public int refillFrom(DiscardPile discardPile, SplittableRandom random) {
+
+        if (!isEmpty()) {
+            throw new IllegalStateException("Only an empty draw pile is refilled, " + size() + " cards are left");
+        }
+
+        top = 0;
+        end = discardPile.takeAllButTop(cards, 0);
+        shuffle(random);
+        return end;
+
+    }
+
+    /**
+     * Looks at the top card without drawing it.
+     * @return the card that will be drawn next.
+     */
+    public Card peek() {
+
+        if (isEmpty()) {
+            throw new IllegalStateException("The draw pile is empty");
+        }
+        return Card.ofId(cards[top]);
+
+    }
+
+    /**
+     * Draws the top card.
+     * @return the drawn card.
+     */
+    public Card draw() {
+
+        Card drawn = peek();
+        top++;
+        return drawn;
+
+    }
+
+    /**
+     * Draws several cards off the top.
+     * @param count the number of cards to draw.
+     * @return a new list with the drawn cards in the order they were drawn.
+     */
+    public List<Card> deal(int count) {
+
+        if (count > size()) {
+            throw new IllegalStateException("Cannot deal " + count + " cards from a pile of " + size());
+        }
+
+        List<Card> dealt = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dealt.add(Card.ofId(cards[top++]));
+        }
+        return dealt;
+
+    }
+
+    /**
+     * Gets the number of cards left in the pile.
+     * @return the size of the pile.
+     */
+    public int size() {
+        return end - top;
+    }
+
+    /**
+     * Checks if the pile has no cards left.
+     * @return true if the pile is empty.
+     */
+    public boolean isEmpty() {
+        return top == end;
+    }
+
+    /**
+     * Copies the ids of the cards left in the pile, the card drawn next first.
+     * @param target an array of at least size() ints.
+     * @return the number of cards copied.
+     */
+    public int copyTo(int[] target) {
+        System.arraycopy(cards, top, target, 0, size());
+        return size();
+    }
+
+    /**
+     * Gets a read-only view of the pile, the card at position 0 is drawn next.
+     * The view follows the pile as cards are drawn.
+     * @return the cards left in the pile.
+     */
+    public List<Card> asList() {
+        return view;
+    }
+
+    private void swap(int i, int j) {
+        int card = cards[i];
+        cards[i] = cards[j];
+        cards[j] = card;
+    }
+
+    /**
+     * Read-only List over the cards left in the pile.
+     */
+    private class ListView extends AbstractList<Card> {
+
+        @Override
+        public Card get(int position) {
+
+            if (position < 0 || position >= size()) {
+                throw new IndexOutOfBoundsException("Position " + position + " in a pile of " + size());
+            }
+            return Card.ofId(cards[top + position]);
+
+        }
+
+        @Override
+        public int size() {
+            return DrawPile.this.size();
+        }
+    }
+
+}
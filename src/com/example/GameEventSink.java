@@ -0,0 +1,104 @@
+package com.example;
+
+/**
+ * Receives the events of a Crazy 8 game as they happen.
+ * Every method has an empty default so a sink only overrides what it cares about,
+ * and the game never builds strings or objects for a sink that does nothing.
+ */
+public interface GameEventSink {
+
+    /**
+     * A sink that ignores every event, used for headless simulations.
+     */
+    GameEventSink SILENT = new GameEventSink() {
+    };
+
+    /**
+     * Called once when the players of a game are seated, before the first round is dealt.
+     * @param numPlayers the number of players.
+     * @param numDecks the number of decks the game is played with.
+     * @param seed the seed of the game.
+     */
+    default void onGameStarted(int numPlayers, int numDecks, long seed) {
+    }
+
+    /**
+     * Called once a new round has been dealt.
+     * @param firstCard the first card placed on the discard pile.
+     */
+    default void onRoundStarted(Card firstCard) {
+    }
+
+    /**
+     * Called when a player draws a card on their turn.
+     * @param playerId the id of the player that drew.
+     */
+    default void onCardDrawn(int playerId) {
+    }
+
+    /**
+     * Called when a player places a card that is not an 8.
+     * @param playerId the id of the player that placed the card.
+     * @param card the card that was placed.
+     */
+    default void onCardPlayed(int playerId, Card card) {
+    }
+
+    /**
+     * Called when a player places an 8 and declares a new suit.
+     * @param playerId the id of the player that placed the 8.
+     * @param eight the 8 that was placed.
+     * @param declaredSuit the suit the player declared.
+     */
+    default void onEightPlayed(int playerId, Card eight, Card.Suit declaredSuit) {
+    }
+
+    /**
+     * Called when the draw pile ran out and the discard pile under its top card was shuffled into it.
+     * @param numCards the number of cards in the new draw pile.
+     */
+    default void onDiscardsReshuffled(int numCards) {
+    }
+
+    /**
+     * Called when a turn caused the round to end.
+     */
+    default void onRoundEnded() {
+    }
+
+    /**
+     * Called when the round ended without a winner.
+     */
+    default void onRoundTied() {
+    }
+
+    /**
+     * Called when a player won the round.
+     * @param playerId the id of the round winner.
+     */
+    default void onRoundWon(int playerId) {
+    }
+
+    /**
+     * Called for every player once the scores were adjusted at the end of a round.
+     * @param playerId the id of the player.
+     * @param score the player's score after the round.
+     */
+    default void onPlayerScore(int playerId, int score) {
+    }
+
+    /**
+     * Called when a turn broke the rules and the game was stopped.
+     * @param violation the rule that was broken.
+     */
+    default void onRuleViolation(RuleViolation violation) {
+    }
+
+    /**
+     * Called when a player has won the game.
+     * @param playerId the id of the game winner.
+     */
+    default void onGameWon(int playerId) {
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the games of a log written by GameLogWriter, one event at a time.
+ *
+ * The reader maps a window of the file and moves it along, so it never holds more than the window in memory and
+ * never builds objects for the events it reads. nextGame skips the body of a game by its length, and every game can
+ * be found again by the offset getGameOffset reports, so a log can be indexed and seeked into.
+ *
+ * A writer that was never closed leaves the file at the end of its last mapped region, with zeros after the last game
+ * it wrote and a game it had not finished marked as cut off. Such a log reads up to its last complete game.
+ */
+public class GameLogReader implements Closeable {
+
+    /**
+     * Event type of the record that starts a round.
+     */
+    public static final int ROUND_STARTED = 1;
+
+    /**
+     * Event type of a turn.
+     */
+    public static final int TURN = 2;
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    private long nextGameOffset = GameLogWriter.FILE_HEADER_SIZE;
+    private long gameOffset = -1;
+    private int numPlayers;
+    private long seed;
+    private int bodyLength;
+    private int winnerId;
+    private long position;
+    private long bodyEnd;
+
+    private int eventType;
+    private int first;
+    private int second;
+
+    /**
+     * Opens a log.
+     * @param path the file to read.
+     * @throws IOException if the file cannot be read or is not a game log.
+     */
+    public GameLogReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a log.
+     * @param path the file to read.
+     * @param windowSize the number of bytes mapped at a time, at least the size of a game header.
+     * @throws IOException if the file cannot be read or is not a game log.
+     */
+    public GameLogReader(Path path, int windowSize) throws IOException {
+
+        if (windowSize < GameLogWriter.GAME_HEADER_SIZE) {
+            throw new IllegalArgumentException("Windows of " + windowSize + " bytes cannot hold a game header");
+        }
+
+        this.windowSize = windowSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+
+        if (fileSize < GameLogWriter.FILE_HEADER_SIZE) {
+            channel.close();
+            throw new IOException(path + " is not a game log");
+        }
+        mapWindow(0, GameLogWriter.FILE_HEADER_SIZE);
+        if (window.getInt(0) != GameLogWriter.MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not a game log");
+        }
+        if (window.get(4) != GameLogWriter.VERSION) {
+            channel.close();
+            throw new IOException(path + " has unsupported version " + window.get(4));
+        }
+
+    }
+
+    /**
+     * Moves to the next game, skipping whatever is left of the current one.
+     * @return false if there are no more complete games.
+     * @throws IOException if the file cannot be read or is corrupt.
+     */
+    public boolean nextGame() throws IOException {
+
+        long offset = nextGameOffset;
+        if (offset + GameLogWriter.GAME_HEADER_SIZE > fileSize) {
+            return false;
+        }
+
+        mapWindow(offset, GameLogWriter.GAME_HEADER_SIZE);
+        int at = (int) (offset - windowStart);
+        if (window.get(at) == 0) {
+            //the zeros a writer that was never closed mapped past its last game
+            return false;
+        }
+        if ((window.get(at) & 0xFF) != GameLogWriter.GAME) {
+            throw new IOException("No game starts at offset " + offset);
+        }
+
+        int length = window.getInt(at + GameLogWriter.LENGTH_OFFSET);
+        if (length == GameLogWriter.UNFINISHED || offset + GameLogWriter.GAME_HEADER_SIZE + length > fileSize) {
+            //the writer was cut off in the middle of this game
+            return false;
+        }
+
+        gameOffset = offset;
+        numPlayers = window.get(at + 1) & 0xFF;
+        seed = window.getLong(at + 2);
+        bodyLength = length;
+        winnerId = window.get(at + GameLogWriter.WINNER_OFFSET) & 0xFF;
+        position = offset + GameLogWriter.GAME_HEADER_SIZE;
+        bodyEnd = position + length;
+        nextGameOffset = bodyEnd;
+        return true;
+
+    }
+
+    /**
+     * Makes the game at an offset the next one nextGame moves to.
+     * @param offset an offset reported by getGameOffset.
+     */
+    public void seekGame(long offset) {
+
+        if (offset < GameLogWriter.FILE_HEADER_SIZE || offset >= fileSize) {
+            throw new IllegalArgumentException("Offset " + offset + " is outside the log");
+        }
+        nextGameOffset = offset;
+
+    }
+
+    /**
+     * Moves to the next event of the current game.
+     * @return false at the end of the game.
+     */
+    public boolean nextEvent() {
+
+        if (position >= bodyEnd) {
+            return false;
+        }
+
+        mapWindow(position, 2);
+        int at = (int) (position - windowStart);
+        first = window.get(at) & 0xFF;
+        second = window.get(at + 1) & 0xFF;
+        eventType = first == GameLogWriter.ROUND ? ROUND_STARTED : TURN;
+        position += 2;
+        return true;
+
+    }
+
+    /**
+     * Gets where the current game starts in the file.
+     * @return the offset of the game's header.
+     */
+    public long getGameOffset() {
+        return gameOffset;
+    }
+
+    /**
+     * Gets the number of players of the current game.
+     * @return the number of players.
+     */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Gets the seed of the current game.
+     * @return the seed the game was created with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the winner of the current game.
+     * @return the id of the winner, 0 if the game was stopped or never finished.
+     */
+    public int getWinnerId() {
+        return winnerId;
+    }
+
+    /**
+     * Gets the number of events in the current game.
+     * @return the number of rounds plus the number of turns.
+     */
+    public int getEventCount() {
+        return bodyLength / 2;
+    }
+
+    /**
+     * Gets the type of the current event.
+     * @return ROUND_STARTED or TURN.
+     */
+    public int getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Gets the first card of the round the current event started.
+     * @return the card placed on the discard pile when the round was dealt.
+     */
+    public Card getFirstCard() {
+        checkEventType(ROUND_STARTED);
+        return Card.of(second);
+    }
+
+    /**
+     * Gets the player that took the current turn.
+     * @return the id of the player, starting at 1.
+     */
+    public int getPlayerId() {
+        checkEventType(TURN);
+        return first + 1;
+    }
+
+    /**
+     * Gets the move of the current turn.
+     * @return the move in the encoding of GameState.
+     */
+    public int getMove() {
+        checkEventType(TURN);
+        return second;
+    }
+
+    /**
+     * Copies the current turn into a PlayerTurn.
+     * @param turn the turn to overwrite.
+     */
+    public void readTurn(PlayerTurn turn) {
+
+        checkEventType(TURN);
+        turn.playerId = first + 1;
+        turn.drewACard = GameState.isDraw(second);
+        if (turn.drewACard) {
+            turn.playedCard = null;
+            turn.declaredSuit = null;
+        } else {
+            turn.playedCard = Card.of(GameState.cardOf(second));
+            turn.declaredSuit = turn.playedCard.getRank() == Card.Rank.EIGHT
+                    ? SUITS[GameState.declaredSuitOf(second)] : null;
+        }
+
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void checkEventType(int expected) {
+
+        if (eventType != expected) {
+            throw new IllegalStateException("The current event is not a " + (expected == TURN ? "turn" : "round"));
+        }
+
+    }
+
+    /**
+     * Makes sure the bytes from an offset on are in the mapped window, moving the window there if they are not.
+     */
+    private void mapWindow(long offset, int length) {
+
+        if (window != null && offset >= windowStart && offset + length <= windowEnd) {
+            return;
+        }
+
+        try {
+            long size = Math.min(windowSize, fileSize - offset);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            windowStart = offset;
+            windowEnd = offset + size;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the games it hears about as an event sink to a compact binary log, read back by GameLogReader.
+ *
+ * A log starts with the 4 byte magic "C8LG" and a version byte, followed by the games in the order they started.
+ * A game is a 15 byte header: the GAME marker, the number of players, the 8 byte seed, the 4 byte length of the body
+ * and the id of the winner, 0 if the game was stopped or never finished. The length and the winner are written when
+ * the game ends, a length of -1 marks a game that was cut off. The body has a 2 byte record per event:
+ * the ROUND marker and the index of the first card of a round, or for a turn the player's seat and the move in the
+ * one byte encoding of GameState (the card index, or 63 for a draw, with the declared suit in the top 2 bits).
+ *
+ * The file is written through a memory mapped region of the FileChannel that moves along as the log grows, and is
+ * cut to its real length when the writer is closed. A writer is used by one game at a time, and only games of one
+ * deck can be logged.
+ */
+public class GameLogWriter implements GameEventSink, Closeable {
+
+    static final int MAGIC = 0x43384C47;
+    static final byte VERSION = 1;
+    static final int FILE_HEADER_SIZE = 5;
+
+    /**
+     * First byte of a game header. Seats are always below the markers.
+     */
+    static final int GAME = 0xFF;
+
+    /**
+     * First byte of the record that starts a round.
+     */
+    static final int ROUND = 0xFE;
+
+    static final int GAME_HEADER_SIZE = 15;
+    static final int LENGTH_OFFSET = 10;
+    static final int WINNER_OFFSET = 14;
+    static final int UNFINISHED = -1;
+
+    private static final int DEFAULT_REGION_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final ByteBuffer patch = ByteBuffer.allocate(GAME_HEADER_SIZE - LENGTH_OFFSET);
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long gameStart = -1;
+
+    /**
+     * Creates a log, replacing any file at the path.
+     * @param path the file to write.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public GameLogWriter(Path path) throws IOException {
+        this(path, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Creates a log, replacing any file at the path.
+     * @param path the file to write.
+     * @param regionSize the number of bytes mapped at a time, at least the size of a game header.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public GameLogWriter(Path path, int regionSize) throws IOException {
+
+        if (regionSize < GAME_HEADER_SIZE) {
+            throw new IllegalArgumentException("Regions of " + regionSize + " bytes cannot hold a game header");
+        }
+
+        this.regionSize = regionSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapRegion(0);
+        region.putInt(MAGIC).put(VERSION);
+
+    }
+
+    /**
+     * Gets the number of bytes written so far.
+     * @return the position the next record is written at.
+     */
+    public long getPosition() {
+        return regionStart + region.position();
+    }
+
+    @Override
+    public void onGameStarted(int numPlayers, int numDecks, long seed) {
+
+        if (numPlayers >= ROUND) {
+            throw new IllegalArgumentException("A log cannot hold games of " + numPlayers + " players");
+        }
+        //a record holds a card index, not which deck the card came from
+        if (numDecks != 1) {
+            throw new IllegalArgumentException("A log cannot hold games of " + numDecks + " decks");
+        }
+
+        endGame(0);
+        ensureRoom(GAME_HEADER_SIZE);
+        gameStart = getPosition();
+        region.put((byte) GAME).put((byte) numPlayers).putLong(seed).putInt(UNFINISHED).put((byte) 0);
+
+    }
+
+    @Override
+    public void onRoundStarted(Card firstCard) {
+        putRecord(ROUND, firstCard.getIndex());
+    }
+
+    @Override
+    public void onCardDrawn(int playerId) {
+        putRecord(playerId - 1, GameState.DRAW);
+    }
+
+    @Override
+    public void onCardPlayed(int playerId, Card card) {
+        putRecord(playerId - 1, card.getIndex());
+    }
+
+    @Override
+    public void onEightPlayed(int playerId, Card eight, Card.Suit declaredSuit) {
+        putRecord(playerId - 1, GameState.playMove(eight.getIndex(), declaredSuit.ordinal()));
+    }
+
+    @Override
+    public void onRuleViolation(RuleViolation violation) {
+        endGame(0);
+    }
+
+    @Override
+    public void onGameWon(int playerId) {
+        endGame(playerId);
+    }
+
+    /**
+     * Finishes the open game, if there is one, and cuts the file to the bytes written.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+            endGame(0);
+            long size = getPosition();
+            region.force();
+            region = null;
+            channel.truncate(size);
+        } finally {
+            channel.close();
+        }
+
+    }
+
+    private void putRecord(int first, int second) {
+
+        if (gameStart < 0) {
+            throw new IllegalStateException("No game was started in this log");
+        }
+
+        ensureRoom(2);
+        region.put((byte) first).put((byte) second);
+
+    }
+
+    /**
+     * Writes the length and winner of the open game into its header.
+     * @param winnerId the id of the winner, 0 for none.
+     */
+    private void endGame(int winnerId) {
+
+        if (gameStart < 0) {
+            return;
+        }
+
+        int length = (int) (getPosition() - gameStart - GAME_HEADER_SIZE);
+        long patchPosition = gameStart + LENGTH_OFFSET;
+        gameStart = -1;
+
+        if (patchPosition >= regionStart) {
+            int offset = (int) (patchPosition - regionStart);
+            region.putInt(offset, length);
+            region.put(offset + WINNER_OFFSET - LENGTH_OFFSET, (byte) winnerId);
+            return;
+        }
+
+        //the header was written through an earlier region, which is no longer mapped
+        patch.clear();
+        patch.putInt(length).put((byte) winnerId).flip();
+        try {
+            while (patch.hasRemaining()) {
+                channel.write(patch, patchPosition + patch.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+    }
+
+    private void ensureRoom(int bytes) {
+
+        if (region.remaining() < bytes) {
+            mapRegion(getPosition());
+        }
+
+    }
+
+    private void mapRegion(long start) {
+
+        try {
+            region = channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+            regionStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.example;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rebuilds the state of a logged game at any turn without asking the strategies that played it.
+ *
+ * The replayer plays the game once through Crazy8Game with scripted seats that take the logged moves, so the deals
+ * come out of the game's seed exactly as they did the first time, and keeps a GameState checkpoint every few turns
+ * and at every deal. Getting the state at turn n copies the checkpoint before it and applies the logged moves since,
+ * so it costs at most the checkpoint interval in moves however long the game is.
+ *
+ * Games are replayed the way Crazy8Game deals them when it creates the strategies from factories, which is how
+ * Tournament, StrategyRegistry and the default constructors play. Games with the reshuffle rule on cannot be replayed.
+ */
+public class GameReplayer {
+
+    /**
+     * Number of turns between two checkpoints when none is given.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    private final int numPlayers;
+    private final long seed;
+    private final int[] moves;
+    private final List<GameState> checkpoints = new ArrayList<>();
+    private int[] checkpointTurns = new int[16];
+    private int nextMove;
+
+    /**
+     * Replays a game from its moves.
+     * @param numPlayers the number of players.
+     * @param seed the seed of the game.
+     * @param moves the move of every turn in the game, in the encoding of GameState.
+     * @param firstCards the first card of every round as it was logged, or null to skip that check.
+     * @param checkpointInterval the number of turns between two checkpoints.
+     */
+    public GameReplayer(int numPlayers, long seed, int[] moves, int[] firstCards, int checkpointInterval) {
+
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive");
+        }
+
+        this.numPlayers = numPlayers;
+        this.seed = seed;
+        this.moves = moves.clone();
+        replay(firstCards, checkpointInterval);
+
+    }
+
+    /**
+     * Replays the current game of a log, reading the rest of its events.
+     * @param reader a reader that just moved to a game with nextGame.
+     * @param checkpointInterval the number of turns between two checkpoints.
+     * @return the replayer of that game.
+     */
+    public static GameReplayer fromLog(GameLogReader reader, int checkpointInterval) {
+
+        int[] moves = new int[reader.getEventCount()];
+        int[] firstCards = new int[reader.getEventCount()];
+        int numMoves = 0;
+        int numRounds = 0;
+
+        while (reader.nextEvent()) {
+            if (reader.getEventType() == GameLogReader.ROUND_STARTED) {
+                firstCards[numRounds++] = reader.getFirstCard().getIndex();
+            } else {
+                moves[numMoves++] = reader.getMove();
+            }
+        }
+
+        return new GameReplayer(reader.getNumPlayers(), reader.getSeed(), Arrays.copyOf(moves, numMoves),
+                Arrays.copyOf(firstCards, numRounds), checkpointInterval);
+
+    }
+
+    /**
+     * Replays every game of a log file.
+     * @param reader an open log.
+     * @param checkpointInterval the number of turns between two checkpoints.
+     * @return a replayer for each complete game in the log, in order.
+     * @throws IOException if the log cannot be read.
+     */
+    public static List<GameReplayer> replayAll(GameLogReader reader, int checkpointInterval) throws IOException {
+
+        List<GameReplayer> replayers = new ArrayList<>();
+        while (reader.nextGame()) {
+            replayers.add(fromLog(reader, checkpointInterval));
+        }
+        return replayers;
+
+    }
+
+    /**
+     * Gets the number of turns in the game.
+     * @return the number of logged moves.
+     */
+    public int getNumTurns() {
+        return moves.length;
+    }
+
+    /**
+     * Gets the seed of the game.
+     * @return the seed the game was created with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of checkpoints kept.
+     * @return the number of states the replayer stores.
+     */
+    public int getNumCheckpoints() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Gets the state of the game after a number of turns.
+     * When that turn ended a round that did not end the game, the state is the next round as it was dealt.
+     * @param turn the number of turns played, from 0 to getNumTurns().
+     * @return a new state.
+     */
+    public GameState stateAt(int turn) {
+
+        GameState state = new GameState(numPlayers);
+        stateAt(turn, state);
+        return state;
+
+    }
+
+    /**
+     * Gets the state of the game after a number of turns into an existing state, which allocates nothing.
+     * @param turn the number of turns played, from 0 to getNumTurns().
+     * @param state a state with as many seats as the game has players.
+     */
+    public void stateAt(int turn, GameState state) {
+
+        if (turn < 0 || turn > moves.length) {
+            throw new IndexOutOfBoundsException("Turn " + turn + " in a game of " + moves.length + " turns");
+        }
+
+        //the last checkpoint at or before the turn, a deal comes after the end of the round at the same turn
+        int position = Arrays.binarySearch(checkpointTurns, 0, checkpoints.size(), turn);
+        if (position < 0) {
+            position = -position - 2;
+        }
+        while (position + 1 < checkpoints.size() && checkpointTurns[position + 1] == turn) {
+            position++;
+        }
+
+        state.copyFrom(checkpoints.get(position));
+        for (int next = checkpointTurns[position]; next < turn; next++) {
+            state.apply(moves[next]);
+        }
+
+    }
+
+    /**
+     * Creates a game in the state it was after a number of turns, to be played on by new strategies.
+     * See Crazy8Game.restore for what the game does not get back.
+     * @param turn the number of turns played, from 0 to getNumTurns().
+     * @param seatFactories the factory of the strategy for each seat.
+     * @return a new game.
+     */
+    public Crazy8Game gameAt(int turn, StrategyFactory[] seatFactories) {
+
+        Crazy8Game game = new Crazy8Game(seatFactories, seed, GameEventSink.SILENT);
+        game.restore(stateAt(turn));
+        return game;
+
+    }
+
+    /**
+     * Plays the game once with the logged moves and keeps the checkpoints.
+     */
+    private void replay(int[] firstCards, int checkpointInterval) {
+
+        DealRecorder dealRecorder = new DealRecorder(firstCards);
+        StrategyFactory[] seats = new StrategyFactory[numPlayers];
+        Arrays.fill(seats, (StrategyFactory) random -> new ScriptedSeat());
+        Crazy8Game game = new Crazy8Game(seats, seed, dealRecorder);
+
+        addCheckpoint(game, 0);
+        dealRecorder.dealt = false;
+
+        while (nextMove < moves.length) {
+            int turn = nextMove;
+            boolean goesOn = game.playNextTurn();
+            if (game.getRuleViolation() != null) {
+                throw new IllegalStateException("Turn " + turn + " of the log breaks the rules: "
+                        + game.getRuleViolation());
+            }
+            if (!goesOn && nextMove < moves.length) {
+                throw new IllegalStateException("The game ended after " + nextMove + " of " + moves.length
+                        + " logged turns");
+            }
+
+            if (nextMove % checkpointInterval == 0 && !dealRecorder.dealt) {
+                addCheckpoint(game, nextMove);
+            }
+            if (dealRecorder.dealt) {
+                addCheckpoint(game, nextMove);
+                dealRecorder.dealt = false;
+            }
+        }
+
+    }
+
+    private void addCheckpoint(Crazy8Game game, int turn) {
+
+        if (checkpoints.size() == checkpointTurns.length) {
+            checkpointTurns = Arrays.copyOf(checkpointTurns, checkpointTurns.length * 2);
+        }
+        checkpointTurns[checkpoints.size()] = turn;
+        checkpoints.add(game.snapshot());
+
+    }
+
+    /**
+     * Notices every deal of the replayed game and checks its first card against the log.
+     */
+    private static class DealRecorder implements GameEventSink {
+
+        private final int[] firstCards;
+        private int rounds;
+        boolean dealt;
+
+        DealRecorder(int[] firstCards) {
+            this.firstCards = firstCards;
+        }
+
+        @Override
+        public void onRoundStarted(Card firstCard) {
+
+            if (firstCards != null && (rounds >= firstCards.length || firstCards[rounds] != firstCard.getIndex())) {
+                throw new IllegalStateException("Round " + (rounds + 1) + " does not start as logged,"
+                        + " the log does not match the seed");
+            }
+            rounds++;
+            dealt = true;
+
+        }
+
+        @Override
+        public void onDiscardsReshuffled(int numCards) {
+            throw new IllegalStateException("Games with the reshuffle rule cannot be replayed");
+        }
+    }
+
+    /**
+     * A seat that takes the next logged move instead of deciding anything.
+     */
+    private class ScriptedSeat implements PlayerStrategy {
+
+        private int move;
+
+        @Override
+        public void init(int playerId, List<Integer> opponentIds) {
+        }
+
+        @Override
+        public void receiveInitialCards(List<Card> cards) {
+        }
+
+        @Override
+        public boolean shouldDrawCard(Card topPileCard, Card.Suit pileSuit) {
+            move = moves[nextMove++];
+            return GameState.isDraw(move);
+        }
+
+        @Override
+        public void receiveCard(Card drawnCard) {
+        }
+
+        @Override
+        public Card playCard() {
+            return Card.of(GameState.cardOf(move));
+        }
+
+        @Override
+        public Card.Suit declareSuit() {
+            return SUITS[GameState.declaredSuitOf(move)];
+        }
+
+        @Override
+        public void processOpponentActions(List<PlayerTurn> opponentActions) {
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+}
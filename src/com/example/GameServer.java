@@ -0,0 +1,511 @@
+package com.example;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hosts many live Crazy 8 tables in one JVM, with players that answer their turns asynchronously.
+ *
+ * Tables are spread over a fixed number of shards by table id. Each shard has one thread, the only one that ever
+ * touches its tables, and a lock-free MpscQueue of commands. Opening a table and submitting a move only enqueue a
+ * command, so no thread but a shard's own ever waits on a table and there is no lock anywhere on the way.
+ *
+ * A seat is either played by the server itself, by a strategy from a StrategyFactory that runs on the shard thread,
+ * or by a TableClient, through a seat from remote. The server plays a table on until a client's turn comes up, tells
+ * the client, and goes on with other tables until the client's move arrives through submitMove.
+ */
+public class GameServer implements MoveSink, AutoCloseable {
+
+    /**
+     * Number of times an idle shard checks its queue before it parks.
+     */
+    private static final int IDLE_SPINS = 256;
+
+    private static final int NO_MOVE = -1;
+    private static final int OPEN = 0;
+    private static final int MOVE = 1;
+    private static final int CLOSE = 2;
+
+    private final Shard[] shards;
+    private final AtomicInteger nextTableId = new AtomicInteger(1);
+    private final LongAdder openTables = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder gamesStopped = new LongAdder();
+    private final LongAdder movesRejected = new LongAdder();
+    private final LogHistogram moveLatencies = new LogHistogram();
+
+    /**
+     * Creates a server and starts its shards.
+     * @param numShards the number of shard threads, usually the number of cores.
+     */
+    public GameServer(int numShards) {
+
+        if (numShards < 1) {
+            throw new IllegalArgumentException("A server needs at least one shard");
+        }
+
+        shards = new Shard[numShards];
+        for (int shard = 0; shard < numShards; shard++) {
+            shards[shard] = new Shard(shard);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+
+    }
+
+    /**
+     * Gets the factory for a seat played by a client. It can only be used in openTable.
+     * @param client the client that plays the seat.
+     * @return a factory that openTable turns into a seat of that client.
+     */
+    public static StrategyFactory remote(TableClient client) {
+        return new RemoteSeatFactory(client);
+    }
+
+    /**
+     * Opens a table. The game is created and played up to the first client turn on the table's shard.
+     * @param seats the factory for each seat, seat 0 is player 1, remote for the seats of clients.
+     * @param seed the seed of the game.
+     * @return the id of the new table.
+     * @throws IllegalArgumentException if the tables' single deck is not enough for the seats.
+     */
+    public int openTable(StrategyFactory[] seats, long seed) {
+
+        if (seats.length < 1 || seats.length > Crazy8Game.MAX_PLAYERS_PER_DECK) {
+            throw new IllegalArgumentException("A table of one deck cannot seat " + seats.length + " players");
+        }
+
+        Command command = new Command(OPEN, nextTableId.getAndIncrement());
+        command.seats = seats.clone();
+        command.seed = seed;
+        shardOf(command.tableId).submit(command);
+        return command.tableId;
+
+    }
+
+    @Override
+    public void submitMove(int tableId, int playerId, int move) {
+
+        Command command = new Command(MOVE, tableId);
+        command.playerId = playerId;
+        command.move = move;
+        shardOf(tableId).submit(command);
+
+    }
+
+    /**
+     * Closes a table whose game is still going on, for example because its client left. Its clients get onGameOver
+     * with no winner and the game counts as stopped. A table that is already closed is left alone.
+     * @param tableId the id of the table.
+     */
+    public void closeTable(int tableId) {
+        shardOf(tableId).submit(new Command(CLOSE, tableId));
+    }
+
+    private Shard shardOf(int tableId) {
+        return shards[Math.floorMod(tableId, shards.length)];
+    }
+
+    /**
+     * Gets the number of tables with a game going on.
+     * @return the number of open tables.
+     */
+    public long getOpenTables() {
+        return openTables.sum();
+    }
+
+    /**
+     * Gets the number of games that were won.
+     * @return the number of finished games.
+     */
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    /**
+     * Gets the number of games that were stopped because a seat broke the rules or failed.
+     * @return the number of stopped games.
+     */
+    public long getGamesStopped() {
+        return gamesStopped.sum();
+    }
+
+    /**
+     * Gets the number of moves that were rejected.
+     * @return the number of rejected moves.
+     */
+    public long getMovesRejected() {
+        return movesRejected.sum();
+    }
+
+    /**
+     * Gets the time from submitting a move to the server being done with it, which includes the turns of the
+     * server's own seats up to the next client turn.
+     * @return the histogram of move latencies in nanoseconds.
+     */
+    public LogHistogram getMoveLatencies() {
+        return moveLatencies;
+    }
+
+    /**
+     * Stops the shards after the commands they already took. Open tables are dropped without telling their clients.
+     */
+    @Override
+    public void close() {
+
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+    }
+
+    /**
+     * Something for a shard to do, a table to open or close or a move to apply.
+     */
+    private static final class Command {
+
+        private final int type;
+        private final int tableId;
+        private final long submitted = System.nanoTime();
+        private StrategyFactory[] seats;
+        private long seed;
+        private int playerId;
+        private int move;
+
+        Command(int type, int tableId) {
+            this.type = type;
+            this.tableId = tableId;
+        }
+    }
+
+    /**
+     * Marks a seat of a client until openTable replaces it with a RemoteSeat of the new table.
+     */
+    private static final class RemoteSeatFactory implements StrategyFactory {
+
+        private final TableClient client;
+
+        RemoteSeatFactory(TableClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public PlayerStrategy create(SplittableRandom random) {
+            throw new IllegalStateException("Remote seats are only created by a GameServer");
+        }
+    }
+
+    /**
+     * The strategy of a client's seat. It tells the client what its player sees and plays the move the client
+     * submitted, the server only lets the game ask it for a turn once that move is there.
+     */
+    private static final class RemoteSeat implements PlayerStrategy {
+
+        private static final Card.Suit[] SUITS = Card.Suit.values();
+
+        private final TableClient client;
+        private final int tableId;
+        private int playerId;
+        private int pendingMove = NO_MOVE;
+        private boolean prompted;
+
+        RemoteSeat(TableClient client, int tableId) {
+            this.client = client;
+            this.tableId = tableId;
+        }
+
+        @Override
+        public void init(int playerId, List<Integer> opponentIds) {
+            this.playerId = playerId;
+            client.onTableOpened(tableId, playerId, opponentIds.size() + 1);
+        }
+
+        @Override
+        public void receiveInitialCards(List<Card> cards) {
+
+            long hand = 0;
+            for (Card card : cards) {
+                hand |= Hand.bit(card);
+            }
+            client.onDeal(tableId, playerId, hand);
+
+        }
+
+        @Override
+        public boolean shouldDrawCard(Card topPileCard, Card.Suit pileSuit) {
+            return GameState.isDraw(pendingMove);
+        }
+
+        @Override
+        public void receiveCard(Card drawnCard) {
+            client.onCardDrawn(tableId, playerId, drawnCard);
+        }
+
+        @Override
+        public Card playCard() {
+            return Card.of(GameState.cardOf(pendingMove));
+        }
+
+        @Override
+        public Card.Suit declareSuit() {
+            return SUITS[GameState.declaredSuitOf(pendingMove)];
+        }
+
+        /**
+         * Clients are not told about the turns of their opponents.
+         */
+        @Override
+        public void processOpponentActions(List<PlayerTurn> opponentActions) {
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+    /**
+     * A game and the client seats in it.
+     */
+    private static final class Table {
+
+        private final int id;
+        private final RemoteSeat[] remoteSeats;
+        private Crazy8Game game;
+
+        Table(int id, int numSeats) {
+            this.id = id;
+            this.remoteSeats = new RemoteSeat[numSeats];
+        }
+    }
+
+    /**
+     * One event loop thread and the tables only it touches.
+     */
+    private final class Shard implements Runnable {
+
+        private final MpscQueue<Command> commands = new MpscQueue<>();
+        private final Map<Integer, Table> tables = new HashMap<>();
+        private final Thread thread;
+        private volatile boolean parked;
+        private volatile boolean running = true;
+
+        Shard(int number) {
+            thread = new Thread(this, "game-shard-" + number);
+            thread.setDaemon(true);
+        }
+
+        /**
+         * Enqueues a command from any thread and wakes the shard if it is parked.
+         */
+        void submit(Command command) {
+
+            commands.offer(command);
+            //the offer is visible before parked is read, so a shard that parks after this sees the command
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+
+        }
+
+        @Override
+        public void run() {
+
+            while (running) {
+                Command command = commands.poll();
+                if (command == null) {
+                    idle();
+                } else {
+                    handle(command);
+                }
+            }
+
+        }
+
+        /**
+         * Spins for a moment in case a command is about to arrive, then parks until a producer wakes the shard.
+         */
+        private void idle() {
+
+            for (int spin = 0; spin < IDLE_SPINS; spin++) {
+                if (!commands.isEmpty()) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+
+            parked = true;
+            if (commands.isEmpty() && running) {
+                LockSupport.park(this);
+            }
+            parked = false;
+
+        }
+
+        private void handle(Command command) {
+
+            Table table = command.type == OPEN ? open(command) : tables.get(command.tableId);
+            if (table == null) {
+                //a command for a table that was closed in the meantime
+                return;
+            }
+            if (command.type == CLOSE) {
+                gamesStopped.increment();
+                close(table, 0);
+                return;
+            }
+
+            try {
+                if (command.type == MOVE && !accept(table, command)) {
+                    return;
+                }
+                advance(table);
+            } catch (RuntimeException e) {
+                //a failing seat stops its own game, never the shard
+                gamesStopped.increment();
+                close(table, 0);
+            }
+            if (command.type == MOVE) {
+                moveLatencies.record(System.nanoTime() - command.submitted);
+            }
+
+        }
+
+        private Table open(Command command) {
+
+            Table table = new Table(command.tableId, command.seats.length);
+            StrategyFactory[] seats = new StrategyFactory[command.seats.length];
+            for (int seat = 0; seat < seats.length; seat++) {
+                if (command.seats[seat] instanceof RemoteSeatFactory) {
+                    TableClient client = ((RemoteSeatFactory) command.seats[seat]).client;
+                    int index = seat;
+                    seats[seat] = random -> table.remoteSeats[index] = new RemoteSeat(client, table.id);
+                } else {
+                    seats[seat] = command.seats[seat];
+                }
+            }
+
+            tables.put(table.id, table);
+            openTables.increment();
+            try {
+                table.game = new Crazy8Game(seats, command.seed, GameEventSink.SILENT);
+            } catch (RuntimeException e) {
+                failOpen(command);
+                return null;
+            }
+            return table;
+
+        }
+
+        /**
+         * Drops a table whose game could not be created and tells every client seated at it, including those whose
+         * seat was never created, so no client waits for it.
+         */
+        private void failOpen(Command command) {
+
+            tables.remove(command.tableId);
+            openTables.decrement();
+            gamesStopped.increment();
+            for (int seat = 0; seat < command.seats.length; seat++) {
+                if (command.seats[seat] instanceof RemoteSeatFactory) {
+                    ((RemoteSeatFactory) command.seats[seat]).client.onGameOver(command.tableId, seat + 1, 0);
+                }
+            }
+
+        }
+
+        /**
+         * Checks that a move comes from the player to move and follows the rules, and rejects it otherwise.
+         */
+        private boolean accept(Table table, Command command) {
+
+            Crazy8Game game = table.game;
+            int playerId = command.playerId;
+            RemoteSeat seat = playerId >= 1 && playerId <= table.remoteSeats.length
+                    ? table.remoteSeats[playerId - 1] : null;
+            if (seat == null) {
+                movesRejected.increment();
+                return false;
+            }
+
+            boolean legal = game.getNextPlayerId() == playerId && seat.pendingMove == NO_MOVE;
+            if (legal && !GameState.isDraw(command.move)) {
+                int card = GameState.cardOf(command.move);
+                long playable = LegalMoves.playableMask(game.getTopCard(), game.getDeclaredSuit());
+                legal = card < Card.DECK_SIZE && (playable & Hand.bit(Card.of(card))) != 0
+                        && game.getPlayer(playerId).getCurrentDeck().contains(Card.of(card));
+            }
+
+            if (!legal) {
+                movesRejected.increment();
+                seat.client.onMoveRejected(table.id, playerId, command.move);
+                return false;
+            }
+            seat.pendingMove = command.move;
+            return true;
+
+        }
+
+        /**
+         * Plays turns until a client has to move or the game is over.
+         */
+        private void advance(Table table) {
+
+            Crazy8Game game = table.game;
+            while (true) {
+                RemoteSeat seat = table.remoteSeats[game.getNextPlayerId() - 1];
+                if (seat != null && seat.pendingMove == NO_MOVE) {
+                    if (!seat.prompted) {
+                        seat.prompted = true;
+                        seat.client.onTurn(table.id, seat.playerId, game.getTopCard(), game.getDeclaredSuit());
+                    }
+                    return;
+                }
+
+                boolean goesOn = game.playNextTurn();
+                if (seat != null) {
+                    seat.pendingMove = NO_MOVE;
+                    seat.prompted = false;
+                }
+                if (!goesOn) {
+                    Crazy8Game.Player winner = game.getRuleViolation() == null ? game.findWinner() : null;
+                    if (winner == null) {
+                        gamesStopped.increment();
+                    } else {
+                        gamesFinished.increment();
+                    }
+                    close(table, winner == null ? 0 : winner.getPlayerId());
+                    return;
+                }
+            }
+
+        }
+
+        private void close(Table table, int winnerId) {
+
+            tables.remove(table.id);
+            openTables.decrement();
+            for (RemoteSeat seat : table.remoteSeats) {
+                if (seat != null) {
+                    seat.client.onGameOver(table.id, seat.playerId, winnerId);
+                }
+            }
+
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * A connection to a GameSocketServer. It opens tables, passes what the server tells its seats on to a TableClient
+ * and sends the moves submitted to it.
+ *
+ * The TableClient is called from the connection's reader thread, one frame after the other, and may submit its moves
+ * right there.
+ */
+public class GameSocketClient implements MoveSink, AutoCloseable {
+
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(WireCodec.MAX_FRAME_SIZE);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WireCodec.MAX_FRAME_SIZE + 1);
+    private Thread reader;
+
+    /**
+     * Connects to a server on the loopback interface.
+     * @param port the port of the server.
+     * @throws IOException if the connection fails.
+     */
+    public GameSocketClient(int port) throws IOException {
+
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        in = new BufferedInputStream(socket.getInputStream());
+        out = socket.getOutputStream();
+
+    }
+
+    /**
+     * Starts to read frames from the server. Must be called once, before the first table is opened.
+     * @param client receives what the server tells the seats of this connection.
+     */
+    public synchronized void start(TableClient client) {
+
+        if (reader != null) {
+            throw new IllegalStateException("The connection was already started");
+        }
+
+        reader = new Thread(() -> read(client), "game-socket-client");
+        reader.setDaemon(true);
+        reader.start();
+
+    }
+
+    private void read(TableClient client) {
+
+        try {
+            while (WireCodec.readFrame(in, readBuffer)) {
+                int type = readBuffer.get();
+                int tableId = WireCodec.getVarint(readBuffer);
+                int playerId = WireCodec.getVarint(readBuffer);
+                if (type == GameSocketServer.TABLE_OPENED) {
+                    client.onTableOpened(tableId, playerId, WireCodec.getVarint(readBuffer));
+                } else if (type == GameSocketServer.DEAL) {
+                    client.onDeal(tableId, playerId, WireCodec.getCards(readBuffer));
+                } else if (type == GameSocketServer.CARD_DRAWN) {
+                    client.onCardDrawn(tableId, playerId, WireCodec.getCard(readBuffer));
+                } else if (type == GameSocketServer.TURN) {
+                    Card topCard = WireCodec.getCard(readBuffer);
+                    int suit = readBuffer.get();
+                    client.onTurn(tableId, playerId, topCard, suit == LegalMoves.NO_DECLARED_SUIT ? null : SUITS[suit]);
+                } else if (type == GameSocketServer.MOVE_REJECTED) {
+                    client.onMoveRejected(tableId, playerId, WireCodec.getMove(readBuffer));
+                } else if (type == GameSocketServer.GAME_OVER) {
+                    client.onGameOver(tableId, playerId, WireCodec.getVarint(readBuffer));
+                } else {
+                    throw new IOException("Unknown frame type " + type);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            //the server hung up, the connection was closed or a frame was not valid
+        } finally {
+            close();
+        }
+
+    }
+
+    /**
+     * Asks the server for a table where this connection plays seat 1 and GreedyStrategy the others.
+     * @param numPlayers the number of players at the table.
+     * @param seed the seed of the game.
+     */
+    public synchronized void openTable(int numPlayers, long seed) {
+
+        ByteBuffer frame = WireCodec.startFrame(writeBuffer, GameSocketServer.OPEN);
+        WireCodec.putVarint(frame, numPlayers);
+        WireCodec.putSignedVarlong(frame, seed);
+        send();
+
+    }
+
+    @Override
+    public synchronized void submitMove(int tableId, int playerId, int move) {
+
+        ByteBuffer frame = WireCodec.startFrame(writeBuffer, GameSocketServer.MOVE);
+        WireCodec.putVarint(frame, tableId);
+        WireCodec.putVarint(frame, playerId);
+        WireCodec.putMove(frame, move);
+        send();
+
+    }
+
+    private void send() {
+        try {
+            WireCodec.sendFrame(writeBuffer, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            //nothing left to do with it
+        }
+    }
+
+}
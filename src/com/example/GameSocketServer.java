@@ -0,0 +1,283 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets GameSocketClients play at the tables of a GameServer over TCP on the loopback interface.
+ *
+ * The body of every frame (see WireCodec.readFrame) is a one byte type and its fields in the encoding of WireCodec.
+ * Each side encodes into and decodes from buffers it reuses, so frames cost no allocation. A client opens a table with
+ * OPEN and plays seat 1 of it, the other seats are played by GreedyStrategy on the server. Each connection has a reader
+ * thread that only submits commands to the server, and the tables of a client that hangs up are closed. The server's
+ * shards write the frames for the client themselves, so a client that does not read stalls the shards of its tables;
+ * this transport is meant for tests and tools on one machine, not for untrusted clients.
+ */
+public class GameSocketServer implements AutoCloseable {
+
+    /**
+     * Client to server: the varint number of players and the signed varlong seed of a new table.
+     */
+    static final int OPEN = 1;
+
+    /**
+     * Client to server: the varint ids of the table and the player, and the move.
+     */
+    static final int MOVE = 2;
+
+    /**
+     * Server to client, like every frame below: the varint ids of the table and the player, then the values of the
+     * TableClient call. TABLE_OPENED has the varint number of players.
+     */
+    static final int TABLE_OPENED = 10;
+
+    /**
+     * The set of dealt cards.
+     */
+    static final int DEAL = 11;
+
+    /**
+     * The drawn card.
+     */
+    static final int CARD_DRAWN = 12;
+
+    /**
+     * The top card and a byte with the ordinal of the declared suit, or LegalMoves.NO_DECLARED_SUIT.
+     */
+    static final int TURN = 13;
+
+    /**
+     * The rejected move.
+     */
+    static final int MOVE_REJECTED = 14;
+
+    /**
+     * The varint id of the winner.
+     */
+    static final int GAME_OVER = 15;
+
+    private final GameServer server;
+    private final ServerSocket serverSocket;
+    private final Map<Connection, Boolean> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Starts to accept connections.
+     * @param server the server that hosts the tables.
+     * @param port the port on the loopback interface, 0 for any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public GameSocketServer(GameServer server, int port) throws IOException {
+
+        this.server = server;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+
+        Thread acceptor = new Thread(this::accept, "game-socket-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * @return the local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Connection connection = new Connection(socket);
+                connections.put(connection, Boolean.TRUE);
+                Thread reader = new Thread(connection::read, "game-socket-" + socket.getPort());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                //the server socket was closed
+                return;
+            }
+        }
+
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     */
+    @Override
+    public void close() {
+
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            //nothing left to do with it
+        }
+        for (Connection connection : connections.keySet()) {
+            connection.close();
+        }
+
+    }
+
+    /**
+     * One client connection, which is the TableClient of the client's seats.
+     */
+    private final class Connection implements TableClient {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(WireCodec.MAX_FRAME_SIZE);
+        private final ByteBuffer writeBuffer = ByteBuffer.allocate(WireCodec.MAX_FRAME_SIZE + 1);
+        private final Set<Integer> tableIds = new HashSet<>();
+        private boolean closed;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        void read() {
+
+            try {
+                while (WireCodec.readFrame(in, readBuffer)) {
+                    int type = readBuffer.get();
+                    if (type == OPEN) {
+                        int numPlayers = WireCodec.getVarint(readBuffer);
+                        long seed = WireCodec.getSignedVarlong(readBuffer);
+                        if (numPlayers < 1 || numPlayers > Crazy8Game.MAX_PLAYERS_PER_DECK) {
+                            throw new IOException("Cannot open a table of " + numPlayers + " players");
+                        }
+                        StrategyFactory[] seats = new StrategyFactory[numPlayers];
+                        Arrays.fill(seats, (StrategyFactory) GreedyStrategy::new);
+                        seats[0] = GameServer.remote(this);
+                        //the lock keeps the game over of the new table from being sent before its id is remembered
+                        synchronized (this) {
+                            if (!closed) {
+                                tableIds.add(server.openTable(seats, seed));
+                            }
+                        }
+                    } else if (type == MOVE) {
+                        int tableId = WireCodec.getVarint(readBuffer);
+                        int playerId = WireCodec.getVarint(readBuffer);
+                        server.submitMove(tableId, playerId, WireCodec.getMove(readBuffer));
+                    } else {
+                        throw new IOException("Unknown frame type " + type);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                //a broken connection or a frame that is not valid only ends this connection
+            } finally {
+                close();
+            }
+
+        }
+
+        /**
+         * Starts a frame to the client, only while holding the lock of the connection.
+         */
+        private ByteBuffer start(int type, int tableId, int playerId) {
+
+            ByteBuffer frame = WireCodec.startFrame(writeBuffer, type);
+            WireCodec.putVarint(frame, tableId);
+            WireCodec.putVarint(frame, playerId);
+            return frame;
+
+        }
+
+        /**
+         * Sends the frame in the write buffer. A frame that cannot be written closes the connection.
+         */
+        private void send() {
+
+            if (closed) {
+                return;
+            }
+            try {
+                WireCodec.sendFrame(writeBuffer, out);
+            } catch (IOException e) {
+                close();
+            }
+
+        }
+
+        /**
+         * Closes the socket and the tables the client still plays at, which would otherwise wait for its moves forever.
+         */
+        synchronized void close() {
+
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                //nothing left to do with it
+            }
+            for (int tableId : tableIds) {
+                server.closeTable(tableId);
+            }
+            tableIds.clear();
+
+        }
+
+        @Override
+        public synchronized void onTableOpened(int tableId, int playerId, int numPlayers) {
+            WireCodec.putVarint(start(TABLE_OPENED, tableId, playerId), numPlayers);
+            send();
+        }
+
+        @Override
+        public synchronized void onDeal(int tableId, int playerId, long hand) {
+            WireCodec.putCards(start(DEAL, tableId, playerId), hand);
+            send();
+        }
+
+        @Override
+        public synchronized void onCardDrawn(int tableId, int playerId, Card card) {
+            WireCodec.putCard(start(CARD_DRAWN, tableId, playerId), card);
+            send();
+        }
+
+        @Override
+        public synchronized void onTurn(int tableId, int playerId, Card topCard, Card.Suit declaredSuit) {
+
+            ByteBuffer frame = start(TURN, tableId, playerId);
+            WireCodec.putCard(frame, topCard);
+            frame.put((byte) (declaredSuit == null ? LegalMoves.NO_DECLARED_SUIT : declaredSuit.ordinal()));
+            send();
+
+        }
+
+        @Override
+        public synchronized void onMoveRejected(int tableId, int playerId, int move) {
+            WireCodec.putMove(start(MOVE_REJECTED, tableId, playerId), move);
+            send();
+        }
+
+        @Override
+        public synchronized void onGameOver(int tableId, int playerId, int winnerId) {
+            tableIds.remove(tableId);
+            WireCodec.putVarint(start(GAME_OVER, tableId, playerId), winnerId);
+            send();
+        }
+    }
+
+}
@@ -0,0 +1,378 @@
+package com.example;
+
+/**
+ * A compact snapshot of a round of Crazy 8s that can be played forward and back without allocating.
+ * Hands are card masks (see Hand), the draw pile is an array of card indices with a cursor, and the discard pile
+ * is the index of its top card, the suit to match and a mask of the cards under the top card. Scores are kept but
+ * never changed by moves. With the reshuffle rule on, drawing from an empty draw pile first shuffles the cards under
+ * the top card into a new one, as Crazy8Game does.
+ *
+ * Moves are ints. The low 6 bits hold the index of the placed card, or DRAW, and the next 2 bits the ordinal of the
+ * suit declared with an 8. apply returns the move with the top card and suit it replaced in the next 8 bits, for a
+ * draw followed by the drawn card and, if the discards were reshuffled, a flag and the end of the old draw pile, and
+ * undo takes that value back, so exploring a line of play needs nothing but a stack of ints.
+ */
+public final class GameState {
+
+    /**
+     * The move of a player that draws a card.
+     */
+    public static final int DRAW = 63;
+
+    private static final int EIGHT = Card.Rank.EIGHT.ordinal();
+
+    private static final int DRAWN_SHIFT = 16;
+    private static final int RESHUFFLED = 1 << 22;
+    private static final int DRAW_END_SHIFT = 23;
+
+    /**
+     * The step of the shuffle generator, SplittableRandom's golden gamma.
+     */
+    private static final long SHUFFLE_GAMMA = 0x9E3779B97F4A7C15L;
+
+    final int numSeats;
+    final long[] hands;
+    final int[] drawPile;
+    final int[] scores;
+    int drawTop;
+    int drawEnd;
+    int topCard;
+    int pileSuit;
+    long discards;
+    boolean reshuffleDiscards;
+    long shuffleState;
+    int seat;
+    boolean roundOver;
+    long turnNumber;
+
+    /**
+     * Creates an empty state.
+     * @param numSeats the number of players.
+     */
+    public GameState(int numSeats) {
+
+        if (numSeats < 1) {
+            throw new IllegalArgumentException("A game needs at least one player");
+        }
+
+        this.numSeats = numSeats;
+        this.hands = new long[numSeats];
+        this.drawPile = new int[Card.DECK_SIZE];
+        this.scores = new int[numSeats];
+
+    }
+
+    /**
+     * Makes this state a copy of another one with the same number of seats.
+     * @param other the state to copy.
+     */
+    public void copyFrom(GameState other) {
+
+        if (other.numSeats != numSeats) {
+            throw new IllegalArgumentException("Cannot copy a state with " + other.numSeats + " seats into one with "
+                    + numSeats);
+        }
+
+        System.arraycopy(other.hands, 0, hands, 0, numSeats);
+        System.arraycopy(other.scores, 0, scores, 0, numSeats);
+        System.arraycopy(other.drawPile, other.drawTop, drawPile, other.drawTop, other.drawEnd - other.drawTop);
+        drawTop = other.drawTop;
+        drawEnd = other.drawEnd;
+        topCard = other.topCard;
+        pileSuit = other.pileSuit;
+        discards = other.discards;
+        reshuffleDiscards = other.reshuffleDiscards;
+        shuffleState = other.shuffleState;
+        seat = other.seat;
+        roundOver = other.roundOver;
+        turnNumber = other.turnNumber;
+
+    }
+
+    /**
+     * Creates a copy of this state.
+     * @return a new state equal to this one.
+     */
+    public GameState copy() {
+
+        GameState copy = new GameState(numSeats);
+        copy.copyFrom(this);
+        return copy;
+
+    }
+
+    /**
+     * Gets the move for placing a card.
+     * @param card the index of the card.
+     * @param declaredSuit the ordinal of the suit declared with an 8, ignored for other cards.
+     * @return the move.
+     */
+    public static int playMove(int card, int declaredSuit) {
+        return card % Card.RANKS_PER_SUIT == EIGHT ? card | declaredSuit << 6 : card;
+    }
+
+    /**
+     * Gets the card placed by a move.
+     * @param move a move other than DRAW, or a value returned by apply.
+     * @return the index of the card.
+     */
+    public static int cardOf(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Gets the suit declared by a move that places an 8.
+     * @param move a move placing an 8, or a value returned by apply for it.
+     * @return the ordinal of the declared suit.
+     */
+    public static int declaredSuitOf(int move) {
+        return move >>> 6 & 3;
+    }
+
+    /**
+     * Checks if a move draws a card.
+     * @param move a move, or a value returned by apply.
+     * @return true for a draw.
+     */
+    public static boolean isDraw(int move) {
+        return (move & 63) == DRAW;
+    }
+
+    /**
+     * Gets the number of players.
+     * @return the number of seats.
+     */
+    public int getNumSeats() {
+        return numSeats;
+    }
+
+    /**
+     * Gets the hand of a player.
+     * @param playerSeat the seat of the player, player 1 sits in seat 0.
+     * @return the card mask of the hand.
+     */
+    public long getHand(int playerSeat) {
+        return hands[playerSeat];
+    }
+
+    /**
+     * Gets the score of a player at the start of the round.
+     * @param playerSeat the seat of the player, player 1 sits in seat 0.
+     * @return the score.
+     */
+    public int getScore(int playerSeat) {
+        return scores[playerSeat];
+    }
+
+    /**
+     * Gets the number of cards left in the draw pile.
+     * @return the size of the draw pile.
+     */
+    public int getDrawPileSize() {
+        return drawEnd - drawTop;
+    }
+
+    /**
+     * Gets a card of the draw pile.
+     * @param position the position in the pile, the card at position 0 is drawn next.
+     * @return the index of the card.
+     */
+    public int getDrawPileCard(int position) {
+
+        if (position < 0 || position >= getDrawPileSize()) {
+            throw new IndexOutOfBoundsException("Position " + position + " in a pile of " + getDrawPileSize());
+        }
+        return drawPile[drawTop + position];
+
+    }
+
+    /**
+     * Gets the top card of the discard pile.
+     * @return the index of the card.
+     */
+    public int getTopCard() {
+        return topCard;
+    }
+
+    /**
+     * Gets the suit the next card has to match, unless it matches the rank or is an 8.
+     * @return the ordinal of the suit of the top card, or of the declared suit if an 8 is on top.
+     */
+    public int getPileSuit() {
+        return pileSuit;
+    }
+
+    /**
+     * Gets the cards under the top card of the discard pile.
+     * @return a card mask of the discards.
+     */
+    public long getDiscards() {
+        return discards;
+    }
+
+    /**
+     * Checks if the discards are reshuffled into a new draw pile when it runs out.
+     * @return true if discards are reshuffled, false if an empty draw pile ends the round.
+     */
+    public boolean isReshuffleDiscards() {
+        return reshuffleDiscards;
+    }
+
+    /**
+     * Turns the reshuffle rule on or off, see Crazy8Game.setReshuffleDiscards.
+     * @param reshuffleDiscards true to shuffle the discards into a new draw pile when it runs out.
+     */
+    public void setReshuffleDiscards(boolean reshuffleDiscards) {
+        this.reshuffleDiscards = reshuffleDiscards;
+    }
+
+    /**
+     * Gets the player whose turn it is.
+     * @return the seat of the player, player 1 sits in seat 0.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Checks if the last move ended the round.
+     * @return true if a hand is empty, or the draw pile is empty and there are no discards to reshuffle into it.
+     */
+    public boolean isRoundOver() {
+        return roundOver;
+    }
+
+    /**
+     * Gets the number of turns played in this round.
+     * @return the number of moves applied since the round was dealt.
+     */
+    public long getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * Gets the cards the player whose turn it is can place.
+     * @return a card mask of the playable cards in the player's hand.
+     */
+    public long playableMask() {
+        //the suit to match stands in for the declared suit, for a card that was not an 8 that is the same answer
+        return hands[seat] & LegalMoves.playableMask(topCard, pileSuit);
+    }
+
+    /**
+     * Plays a move for the player whose turn it is and passes the turn on.
+     * The move is not checked against the rules, only that the round is still going.
+     * @param move the move to play.
+     * @return the value to pass to undo to take the move back.
+     */
+    public int apply(int move) {
+
+        if (roundOver) {
+            throw new IllegalStateException("The round is over");
+        }
+
+        int undo = move | topCard << 8 | pileSuit << 14;
+        if (isDraw(move)) {
+            //only reached with the reshuffle rule on, otherwise the round ended with the last card
+            if (drawTop == drawEnd) {
+                undo |= RESHUFFLED | drawEnd << DRAW_END_SHIFT;
+                reshuffleDiscardsIntoDrawPile();
+            }
+            int card = drawPile[drawTop++];
+            hands[seat] |= 1L << card;
+            undo |= card << DRAWN_SHIFT;
+        } else {
+            int card = cardOf(move);
+            hands[seat] &= ~(1L << card);
+            discards |= 1L << topCard;
+            topCard = card;
+            pileSuit = card % Card.RANKS_PER_SUIT == EIGHT ? declaredSuitOf(move) : card / Card.RANKS_PER_SUIT;
+        }
+
+        //same end conditions as Crazy8Game.checkRoundEnded
+        roundOver = hands[seat] == 0 || drawTop == drawEnd && !(reshuffleDiscards && discards != 0);
+        seat = seat + 1 == numSeats ? 0 : seat + 1;
+        turnNumber++;
+        return undo;
+
+    }
+
+    /**
+     * Takes back the last move that was applied.
+     * @param undo the value apply returned for that move.
+     */
+    public void undo(int undo) {
+
+        seat = seat == 0 ? numSeats - 1 : seat - 1;
+        if (isDraw(undo)) {
+            //the pile may have been refilled since, so the card goes back where it was drawn from
+            int card = undo >>> DRAWN_SHIFT & 63;
+            hands[seat] &= ~(1L << card);
+            drawPile[--drawTop] = card;
+            if ((undo & RESHUFFLED) != 0) {
+                for (int position = drawTop; position < drawEnd; position++) {
+                    discards |= 1L << drawPile[position];
+                }
+                //the generator took one step per card, so the same draw shuffles the same way again
+                shuffleState -= SHUFFLE_GAMMA * (drawEnd - drawTop);
+                drawTop = undo >>> DRAW_END_SHIFT & 63;
+                drawEnd = drawTop;
+            }
+        } else {
+            hands[seat] |= 1L << cardOf(undo);
+            topCard = undo >>> 8 & 63;
+            pileSuit = undo >>> 14 & 3;
+            discards &= ~(1L << topCard);
+        }
+        roundOver = false;
+        turnNumber--;
+
+    }
+
+    /**
+     * Shuffles the discards into the empty draw pile with the state's own generator, so a state never allocates one.
+     */
+    private void reshuffleDiscardsIntoDrawPile() {
+
+        if (!reshuffleDiscards || discards == 0) {
+            throw new IllegalStateException("The draw pile is empty");
+        }
+
+        //inside out Fisher-Yates over the discards in mask order, with SplittableRandom's mixing function
+        int numCards = 0;
+        for (long cards = discards; cards != 0; cards &= cards - 1) {
+            shuffleState += SHUFFLE_GAMMA;
+            long z = shuffleState;
+            z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+            int position = (int) (((z ^ z >>> 31) >>> 1) % (numCards + 1));
+            drawPile[numCards++] = drawPile[position];
+            drawPile[position] = Long.numberOfTrailingZeros(cards);
+        }
+        drawTop = 0;
+        drawEnd = numCards;
+        discards = 0;
+
+    }
+
+    /**
+     * Gets how well a finished round went for a player, from 0 to 1.
+     * The round winner gets 1 and everyone else 0. In a tie every player gets the share of the points left
+     * in the other players' hands, which is what the player scores.
+     * @param playerSeat the seat of the player.
+     * @return the reward of that player.
+     */
+    public double reward(int playerSeat) {
+
+        int total = 0;
+        for (int other = 0; other < numSeats; other++) {
+            if (hands[other] == 0) {
+                return other == playerSeat ? 1 : 0;
+            }
+            total += Hand.pointTotal(hands[other]);
+        }
+        return (double) (total - Hand.pointTotal(hands[playerSeat])) / total;
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.example;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays the first card in its hand that can be placed, in card index order, and draws when it has none.
+ * When it places an 8 it declares a random suit.
+ */
+public class GreedyStrategy implements PlayerStrategy {
+
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    private final SplittableRandom random;
+    private final Hand hand = new Hand();
+    private Card topPileCard;
+    private Card.Suit pileSuit;
+
+    /**
+     * Creates a greedy strategy.
+     * @param random the generator for the suits declared with an 8.
+     */
+    public GreedyStrategy(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public void init(int playerId, List<Integer> opponentIds) {
+    }
+
+    @Override
+    public void receiveInitialCards(List<Card> cards) {
+        hand.clear();
+        hand.addAll(cards);
+    }
+
+    /**
+     * Remembers the pile for playCard and draws only when no card in the hand can be placed.
+     */
+    @Override
+    public boolean shouldDrawCard(Card topPileCard, Card.Suit pileSuit) {
+
+        this.topPileCard = topPileCard;
+        this.pileSuit = pileSuit;
+        return !hand.hasPlayableCard(topPileCard, pileSuit);
+
+    }
+
+    @Override
+    public void receiveCard(Card drawnCard) {
+        hand.add(drawnCard);
+    }
+
+    /**
+     * Plays the first card that matches the pile, or an 8 if that comes first.
+     */
+    @Override
+    public Card playCard() {
+
+        long playable = hand.getPlayableMask(topPileCard, pileSuit);
+        if (playable == 0) {
+            return null;
+        }
+
+        Card card = Card.of(Long.numberOfTrailingZeros(playable));
+        hand.remove(card);
+        return card;
+
+    }
+
+    @Override
+    public Card.Suit declareSuit() {
+        //There are 4 suits in a game
+        return SUITS[random.nextInt(4)];
+    }
+
+    /**
+     * The opponents' actions do not affect the behavior of this player.
+     */
+    @Override
+    public void processOpponentActions(List<PlayerTurn> opponentActions) {
+    }
+
+    @Override
+    public void reset() {
+        hand.clear();
+    }
+
+}
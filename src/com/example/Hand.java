@@ -0,0 +1,307 @@
+package com.example;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hand of cards, stored as one bit per card in a long.
+ * Bit i is set when the card with index i (see Card.getIndex) is in the hand.
+ *
+ * In a game of several decks a hand can hold up to Card.MAX_DECKS copies of a card. The further copies are kept in
+ * layers of the same bit layout: bit i of layer k is set when the hand holds more than k + 1 copies of card i.
+ * Copies of a card play the same, so playability only looks at the first mask, and a hand of one deck never
+ * touches the layers.
+ *
+ * The hand is also a List of its cards ordered by card index, so it can be handed to anything
+ * that expects a List, but membership, removal, playability and point totals are all bit operations.
+ */
+public class Hand extends AbstractList<Card> {
+
+    /**
+     * SUIT_MASKS[s] has the bits of all 13 cards of the suit with ordinal s.
+     */
+    static final long[] SUIT_MASKS = new long[4];
+
+    /**
+     * RANK_MASKS[r] has the bits of all 4 cards of the rank with ordinal r.
+     */
+    static final long[] RANK_MASKS = new long[Card.RANKS_PER_SUIT];
+
+    static {
+        for (int index = 0; index < Card.DECK_SIZE; index++) {
+            SUIT_MASKS[Card.suitOf(index).ordinal()] |= 1L << index;
+            RANK_MASKS[Card.rankOf(index).ordinal()] |= 1L << index;
+        }
+    }
+
+    private long mask;
+    private final long[] copies = new long[Card.MAX_DECKS - 1];
+    private int size;
+    private int pointTotal;
+
+    /**
+     * Creates an empty hand.
+     */
+    public Hand() {
+    }
+
+    /**
+     * Gets the bit of a card in a hand mask.
+     * @param card the card.
+     * @return a mask with only that card's bit set.
+     */
+    public static long bit(Card card) {
+        return 1L << card.getIndex();
+    }
+
+    /**
+     * Gets the raw bitmask of this hand.
+     * @return a long with bit i set when at least one copy of the card with index i is in the hand.
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * Checks if any card in this hand can be placed on the pile.
+     * @param topPileCard the card currently at the top of the pile.
+     * @param pileSuit the suit declared with an 8, or null if none was declared.
+     * @return true if the hand has a card with the pile's suit, the top card's rank, or an 8.
+     */
+    public boolean hasPlayableCard(Card topPileCard, Card.Suit pileSuit) {
+        return getPlayableMask(topPileCard, pileSuit) != 0;
+    }
+
+    /**
+     * Gets the cards in this hand that can be placed on the pile.
+     * @param topPileCard the card currently at the top of the pile.
+     * @param pileSuit the suit declared with an 8, or null if none was declared.
+     * @return a mask with the bits of the playable cards, see LegalMoves.
+     */
+    public long getPlayableMask(Card topPileCard, Card.Suit pileSuit) {
+        return LegalMoves.playable(mask, topPileCard, pileSuit);
+    }
+
+    /**
+     * Gets the sum of the point values of the cards in this hand, which is kept up to date as cards come and go.
+     * @return the point total of the hand.
+     */
+    public int getPointTotal() {
+        return pointTotal;
+    }
+
+    /**
+     * Gets the number of copies of a card in this hand.
+     * @param card the card.
+     * @return from 0 to Card.MAX_DECKS.
+     */
+    public int count(Card card) {
+
+        long cardBit = bit(card);
+        if ((mask & cardBit) == 0) {
+            return 0;
+        }
+
+        int count = 1;
+        while (count <= copies.length && (copies[count - 1] & cardBit) != 0) {
+            count++;
+        }
+        return count;
+
+    }
+
+    /**
+     * Gets the sum of the point values of the cards in a hand mask.
+     * @param handMask a mask with bit i set for every card with index i in the hand.
+     * @return the point total of those cards.
+     */
+    public static int pointTotal(long handMask) {
+
+        int total = 0;
+        for (int rank = 0; rank < RANK_MASKS.length; rank++) {
+            total += Long.bitCount(handMask & RANK_MASKS[rank]) * Card.pointValueOf(rank);
+        }
+        return total;
+
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Card && (mask & bit((Card) o)) != 0;
+    }
+
+    /**
+     * Gets the card at a position, positions are ordered by card index and copies of a card are next to each other.
+     * @param position the position of the card in the hand.
+     * @return the card at that position.
+     */
+    @Override
+    public Card get(int position) {
+
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException("Position " + position + " in a hand of " + size());
+        }
+
+        long remaining = mask;
+        if (copies[0] == 0) {
+            for (int i = 0; i < position; i++) {
+                remaining &= remaining - 1;
+            }
+            return Card.of(Long.numberOfTrailingZeros(remaining));
+        }
+
+        int skipped = 0;
+        while (true) {
+            Card card = Card.of(Long.numberOfTrailingZeros(remaining));
+            skipped += count(card);
+            if (skipped > position) {
+                return card;
+            }
+            remaining &= remaining - 1;
+        }
+
+    }
+
+    /**
+     * Adds a card to the hand.
+     * @param card the card to add.
+     * @return true, as the hand always takes the card.
+     * @throws IllegalStateException if the hand already holds Card.MAX_DECKS copies of the card.
+     */
+    @Override
+    public boolean add(Card card) throws IllegalStateException {
+
+        long cardBit = bit(card);
+        if ((mask & cardBit) == 0) {
+            mask |= cardBit;
+        } else {
+            int layer = 0;
+            while (layer < copies.length && (copies[layer] & cardBit) != 0) {
+                layer++;
+            }
+            if (layer == copies.length) {
+                throw new IllegalStateException("The hand already holds " + Card.MAX_DECKS + " copies of " + card);
+            }
+            copies[layer] |= cardBit;
+        }
+        size++;
+        pointTotal += card.getPointValue();
+        modCount++;
+        return true;
+
+    }
+
+    /**
+     * Removes one copy of a card from the hand.
+     * @param o the card to remove.
+     * @return true if the hand held the card.
+     */
+    @Override
+    public boolean remove(Object o) {
+
+        if (!contains(o)) {
+            return false;
+        }
+
+        long cardBit = bit((Card) o);
+        int layer = copies.length - 1;
+        while (layer >= 0 && (copies[layer] & cardBit) == 0) {
+            layer--;
+        }
+        if (layer >= 0) {
+            copies[layer] &= ~cardBit;
+        } else {
+            mask &= ~cardBit;
+        }
+        size--;
+        pointTotal -= ((Card) o).getPointValue();
+        modCount++;
+        return true;
+
+    }
+
+    @Override
+    public Card remove(int position) {
+
+        Card removed = get(position);
+        remove(removed);
+        return removed;
+
+    }
+
+    @Override
+    public void clear() {
+
+        mask = 0;
+        Arrays.fill(copies, 0);
+        size = 0;
+        pointTotal = 0;
+        modCount++;
+
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+
+        return new Iterator<Card>() {
+
+            private long remaining = mask;
+            private Card current;
+            private int copiesLeft;
+            private Card lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return copiesLeft > 0 || remaining != 0;
+            }
+
+            @Override
+            public Card next() {
+
+                if (copiesLeft > 0) {
+                    copiesLeft--;
+                    lastReturned = current;
+                    return current;
+                }
+
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+
+                current = Card.of(Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+                //removing through the iterator takes copies off the layers, so they are counted up front
+                copiesLeft = copies[0] == 0 ? 0 : count(current) - 1;
+                lastReturned = current;
+                return current;
+
+            }
+
+            @Override
+            public void remove() {
+
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+
+                Hand.this.remove(lastReturned);
+                lastReturned = null;
+
+            }
+        };
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.example;
+
+/**
+ * Receives timings and counts from the hot path of a game.
+ *
+ * A game calls start before a phase and end after it with the value start returned. Every method has an empty
+ * default and NOOP does not even read the clock, so a game that is not instrumented pays for a call the JIT inlines
+ * away. Implementations are shared by the games of a tournament and must be safe to use from many threads.
+ */
+public interface Instrumentation {
+
+    /**
+     * The parts of a game that are timed.
+     */
+    enum Phase {
+
+        /**
+         * Shuffling and dealing a round in prepareNewRound.
+         */
+        DEAL,
+
+        /**
+         * The strategy calls of one turn, from processOpponentActions to declareSuit.
+         */
+        DECISION,
+
+        /**
+         * Checking a turn against the rules and whether it ended the round.
+         */
+        VALIDATION,
+
+        /**
+         * Adjusting the scores at the end of a round.
+         */
+        SCORING
+    }
+
+    /**
+     * The things that are counted.
+     */
+    enum Counter {
+        TURNS,
+        DRAWS,
+        RESHUFFLES
+    }
+
+    /**
+     * Instrumentation that does nothing, the default of every game.
+     */
+    Instrumentation NOOP = new Instrumentation() {
+    };
+
+    /**
+     * Called when a phase starts.
+     * @return the value to pass to end, the time in nanoseconds for implementations that measure it.
+     */
+    default long start() {
+        return 0;
+    }
+
+    /**
+     * Called when a phase ends.
+     * @param phase the phase that ended.
+     * @param start the value start returned when the phase started.
+     */
+    default void end(Phase phase, long start) {
+    }
+
+    /**
+     * Called when a strategy made the decisions of a turn, which ends a DECISION phase.
+     * @param strategy the strategy that decided.
+     * @param playerId the id of the player the strategy plays for.
+     * @param start the value start returned before the first strategy call of the turn.
+     */
+    default void endDecision(PlayerStrategy strategy, int playerId, long start) {
+    }
+
+    /**
+     * Called when something counted happens.
+     * @param counter what happened.
+     */
+    default void count(Counter counter) {
+    }
+
+}
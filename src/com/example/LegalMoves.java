@@ -0,0 +1,83 @@
+package com.example;
+
+/**
+ * The one place that knows which cards may be placed on the pile.
+ *
+ * A card may follow the top card if it is an 8, has the top card's rank, or has the suit to match, which is the
+ * suit declared with an 8 on top or otherwise the top card's own suit. Every answer is precomputed as a card mask
+ * (see Hand) for each of the 52 top cards and each of the 4 declared suits plus none, so the playable cards of a hand
+ * are a single AND of the hand's mask with a table entry.
+ */
+public final class LegalMoves {
+
+    /**
+     * Stands for no declared suit where a suit ordinal is expected.
+     */
+    public static final int NO_DECLARED_SUIT = 4;
+
+    private static final int SUIT_CHOICES = NO_DECLARED_SUIT + 1;
+
+    /**
+     * PLAYABLE[top * 5 + s] has the bits of every card that may follow the card with index top when the suit with
+     * ordinal s was declared, or when nothing was declared for s = NO_DECLARED_SUIT.
+     */
+    private static final long[] PLAYABLE = new long[Card.DECK_SIZE * SUIT_CHOICES];
+
+    static {
+        long eights = Hand.RANK_MASKS[Card.Rank.EIGHT.ordinal()];
+        for (int top = 0; top < Card.DECK_SIZE; top++) {
+            long sameRank = Hand.RANK_MASKS[Card.rankOf(top).ordinal()];
+            for (int suit = 0; suit < SUIT_CHOICES; suit++) {
+                int suitToMatch = suit == NO_DECLARED_SUIT ? Card.suitOf(top).ordinal() : suit;
+                PLAYABLE[top * SUIT_CHOICES + suit] = Hand.SUIT_MASKS[suitToMatch] | sameRank | eights;
+            }
+        }
+    }
+
+    private LegalMoves() {
+    }
+
+    /**
+     * Gets the cards that may be placed on the pile.
+     * @param topCard the index of the card at the top of the pile.
+     * @param declaredSuit the ordinal of the suit declared with an 8 on top, or NO_DECLARED_SUIT.
+     * The ordinal of the top card's own suit gives the same answer as NO_DECLARED_SUIT.
+     * @return a card mask of every card that may be placed.
+     */
+    public static long playableMask(int topCard, int declaredSuit) {
+        return PLAYABLE[topCard * SUIT_CHOICES + declaredSuit];
+    }
+
+    /**
+     * Gets the cards that may be placed on the pile.
+     * @param topCard the card at the top of the pile.
+     * @param declaredSuit the suit declared with an 8 on top, or null if none was declared.
+     * @return a card mask of every card that may be placed.
+     */
+    public static long playableMask(Card topCard, Card.Suit declaredSuit) {
+        return playableMask(topCard.getIndex(), declaredSuit == null ? NO_DECLARED_SUIT : declaredSuit.ordinal());
+    }
+
+    /**
+     * Gets the cards of a hand that may be placed on the pile.
+     * @param hand the card mask of the hand.
+     * @param topCard the card at the top of the pile.
+     * @param declaredSuit the suit declared with an 8 on top, or null if none was declared.
+     * @return the card mask of the playable cards in the hand.
+     */
+    public static long playable(long hand, Card topCard, Card.Suit declaredSuit) {
+        return hand & playableMask(topCard, declaredSuit);
+    }
+
+    /**
+     * Checks if a card may be placed on the pile.
+     * @param card the card to place.
+     * @param topCard the card at the top of the pile.
+     * @param declaredSuit the suit declared with an 8 on top, or null if none was declared.
+     * @return true if the card is an 8 or matches the pile's suit or rank.
+     */
+    public static boolean isPlayable(Card card, Card topCard, Card.Suit declaredSuit) {
+        return (playableMask(topCard, declaredSuit) & Hand.bit(card)) != 0;
+    }
+
+}
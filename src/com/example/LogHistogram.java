@@ -0,0 +1,160 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative longs in a fixed number of logarithmic buckets, in the style of HdrHistogram.
+ *
+ * Values below 8 have a bucket each. Every power of two above that is split into 8 equal buckets, so a value is
+ * known to within an eighth of itself and the whole range of long fits in under 500 buckets. Recording is lock-free:
+ * bucket counts are atomic, and the sum is a LongAdder, so many threads can record into one histogram.
+ */
+public class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LogHistogram() {
+    }
+
+    /**
+     * Gets the bucket a value falls in.
+     * @param value a non-negative value.
+     * @return the index of its bucket.
+     */
+    static int bucketOf(long value) {
+
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+
+    }
+
+    /**
+     * Gets the smallest value of a bucket.
+     * @param bucket the index of the bucket.
+     * @return the lowest value that falls in it.
+     */
+    static long lowestValueOf(int bucket) {
+
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << (exponent - SUB_BUCKET_BITS);
+
+    }
+
+    /**
+     * Gets the largest value of a bucket.
+     * @param bucket the index of the bucket.
+     * @return the highest value that falls in it.
+     */
+    static long highestValueOf(int bucket) {
+        return bucket + 1 == NUM_BUCKETS ? Long.MAX_VALUE : lowestValueOf(bucket + 1) - 1;
+    }
+
+    /**
+     * Records a value.
+     * @param value a non-negative value.
+     */
+    public void record(long value) {
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot record negative value " + value);
+        }
+
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * @return the count.
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Gets the exact mean of the recorded values.
+     * @return the mean, 0 if nothing was recorded.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     * @return the exact maximum, 0 if nothing was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets a value that at least a share of the recorded values are at or below.
+     * @param percentile the share in percent, from 0 to 100.
+     * @return the highest value of the bucket the percentile falls in, at most the maximum.
+     */
+    public long getValueAtPercentile(double percentile) {
+
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile " + percentile + " is not between 0 and 100");
+        }
+
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        long wanted = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= wanted) {
+                return Math.min(highestValueOf(bucket), getMax());
+            }
+        }
+        return getMax();
+
+    }
+
+    /**
+     * Gets the number of recorded values in the bucket of a value.
+     * @param value a non-negative value.
+     * @return the count of values recorded in the same bucket.
+     */
+    public long getCountNear(long value) {
+        return counts.get(bucketOf(value));
+    }
+
+    @Override
+    public String toString() {
+        return "count " + getCount() + ", mean " + String.format("%.2f", getMean()) + ", p50 "
+                + getValueAtPercentile(50) + ", p99 " + getValueAtPercentile(99) + ", max " + getMax();
+    }
+
+}
@@ -1,10 +1,52 @@
 package com.example;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class MainGameEngine {
 
+    /**
+     * Plays a single game on the console. With a number of games as the first argument,
+     * plays that many headless games back to back and reports the games per second.
+     * With a number of threads as the second argument, plays the games as a parallel tournament.
+     * @param args optionally the number of headless games and the number of threads to play them on.
+     */
     public static void main(String[] args) {
-        Crazy8Game crazy8Game = new Crazy8Game(6);
-        crazy8Game.playGame();
+
+        if (args.length == 0) {
+            Crazy8Game crazy8Game = new Crazy8Game(6, new ConsoleEventSink());
+            crazy8Game.playGame();
+            return;
+        }
+
+        int numGames = Integer.parseInt(args[0]);
+        long startTime = System.nanoTime();
+
+        if (args.length > 1) {
+            int numThreads = Integer.parseInt(args[1]);
+            ForkJoinPool pool = new ForkJoinPool(numThreads);
+            Tournament tournament = new Tournament(6, numGames, System.nanoTime());
+            StatisticsAggregator statistics = new StatisticsAggregator();
+            tournament.setStatistics(statistics, StrategyRegistry.GREEDY, StrategyRegistry.GREEDY,
+                    StrategyRegistry.GREEDY, StrategyRegistry.GREEDY, StrategyRegistry.GREEDY, StrategyRegistry.GREEDY);
+            //the timers can be watched over JMX while the tournament runs
+            PhaseTimers timers = new PhaseTimers();
+            timers.register("tournament");
+            tournament.setInstrumentation(timers);
+            TournamentResult result = tournament.run(pool);
+            pool.shutdown();
+            timers.unregister();
+            System.out.print(result);
+            System.out.print(statistics);
+            System.out.print(timers);
+        } else {
+            for (int gameNum = 0; gameNum < numGames; gameNum++) {
+                new Crazy8Game(6).playGame();
+            }
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.println("Played " + numGames + " games in " + seconds + " seconds ("
+                + (numGames / seconds) + " games per second)");
     }
 
 }
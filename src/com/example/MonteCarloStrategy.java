@@ -0,0 +1,531 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Chooses its moves with information set Monte Carlo tree search (single observer ISMCTS).
+ *
+ * The strategy only knows its own hand and what it has seen: the discards and the PlayerTurn history.
+ * Every search iteration deals a guess of the hidden cards (a determinization), the unseen cards shuffled into
+ * the opponents' hands and the draw pile with the sizes the history tells, then walks the shared tree over that
+ * guess, expands one move and plays the round out at random on a compact GameState.
+ *
+ * The strategy infers the cards of a single deck, so Crazy8Game does not seat it at tables of several decks.
+ *
+ * The search runs until the rollout budget or the time budget of a move is used up. With a parallelism above 1,
+ * independent trees are searched on the common ForkJoinPool and their root visit counts are added up.
+ */
+public class MonteCarloStrategy implements PlayerStrategy {
+
+    /**
+     * Rollouts per move used by the factory in the default StrategyRegistry.
+     */
+    public static final int DEFAULT_ROLLOUTS = 256;
+
+    private static final long FULL_DECK = (1L << Card.DECK_SIZE) - 1;
+    private static final int EIGHT = Card.Rank.EIGHT.ordinal();
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    /**
+     * UCB exploration constant, rewards are between 0 and 1.
+     */
+    private static final double EXPLORATION = 0.7;
+
+    private final SplittableRandom random;
+    private final int rolloutsPerMove;
+    private final long timeBudgetNanos;
+    private final int parallelism;
+
+    private int playerSeat;
+    private int[] handSizes;
+    private final Hand hand = new Hand();
+    private long seenCards;
+    private long topCardBit;
+    private int drawPileSize;
+    private int chosenMove;
+    private boolean reshuffleDiscards;
+
+    /**
+     * Creates a strategy that searches on the calling thread with a fixed number of rollouts per move.
+     * @param random the generator for every random choice of the search.
+     * @param rolloutsPerMove the number of rollouts per move.
+     */
+    public MonteCarloStrategy(SplittableRandom random, int rolloutsPerMove) {
+        this(random, rolloutsPerMove, 0, 1);
+    }
+
+    /**
+     * Creates a strategy.
+     * @param random the generator for every random choice of the search.
+     * @param rolloutsPerMove the most rollouts per move, over all parallel searches.
+     * @param timeBudgetMillis the most time to think about a move, 0 for no time limit.
+     * @param parallelism the number of trees searched in parallel.
+     */
+    public MonteCarloStrategy(SplittableRandom random, int rolloutsPerMove, long timeBudgetMillis, int parallelism) {
+
+        if (rolloutsPerMove < 1 || parallelism < 1 || timeBudgetMillis < 0) {
+            throw new IllegalArgumentException("Rollouts and parallelism must be positive, the time budget not negative");
+        }
+
+        this.random = random;
+        this.rolloutsPerMove = rolloutsPerMove;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.parallelism = parallelism;
+
+    }
+
+    /**
+     * Tells the strategy whether the game reshuffles its discards into a new draw pile, so its searches play by the
+     * same rule. The strategy also turns the rule on by itself the first time it sees a reshuffle.
+     * @param reshuffleDiscards true if the game plays with the reshuffle rule, see Crazy8Game.setReshuffleDiscards.
+     */
+    public void setReshuffleDiscards(boolean reshuffleDiscards) {
+        this.reshuffleDiscards = reshuffleDiscards;
+    }
+
+    @Override
+    public void init(int playerId, List<Integer> opponentIds) {
+        this.playerSeat = playerId - 1;
+        this.handSizes = new int[opponentIds.size() + 1];
+    }
+
+    @Override
+    public void receiveInitialCards(List<Card> cards) {
+
+        hand.clear();
+        hand.addAll(cards);
+        for (int seat = 0; seat < handSizes.length; seat++) {
+            handSizes[seat] = cards.size();
+        }
+        //everything that was not dealt but the first card of the discard pile
+        drawPileSize = Card.DECK_SIZE - cards.size() * handSizes.length - 1;
+
+    }
+
+    @Override
+    public void processOpponentActions(List<PlayerTurn> opponentActions) {
+
+        for (PlayerTurn turn : opponentActions) {
+            if (turn.playerId - 1 == playerSeat) {
+                continue;
+            }
+            if (turn.drewACard) {
+                handSizes[turn.playerId - 1]++;
+                countDraw();
+            } else if (turn.playedCard != null) {
+                handSizes[turn.playerId - 1]--;
+                topCardBit = Hand.bit(turn.playedCard);
+                seenCards |= topCardBit;
+            }
+        }
+
+    }
+
+    /**
+     * Draws only when no card can be placed, otherwise searches for the best card to place.
+     */
+    @Override
+    public boolean shouldDrawCard(Card topPileCard, Card.Suit pileSuit) {
+
+        topCardBit = Hand.bit(topPileCard);
+        seenCards |= topCardBit;
+        if (!hand.hasPlayableCard(topPileCard, pileSuit)) {
+            chosenMove = GameState.DRAW;
+            return true;
+        }
+
+        int suitToMatch = (pileSuit != null ? pileSuit : topPileCard.getSuit()).ordinal();
+        chosenMove = search(topPileCard.getIndex(), suitToMatch);
+        return false;
+
+    }
+
+    @Override
+    public void receiveCard(Card drawnCard) {
+        hand.add(drawnCard);
+        handSizes[playerSeat]++;
+        countDraw();
+    }
+
+    @Override
+    public Card playCard() {
+
+        Card card = Card.of(GameState.cardOf(chosenMove));
+        hand.remove(card);
+        handSizes[playerSeat]--;
+        topCardBit = Hand.bit(card);
+        seenCards |= topCardBit;
+        return card;
+
+    }
+
+    @Override
+    public Card.Suit declareSuit() {
+        return SUITS[GameState.declaredSuitOf(chosenMove)];
+    }
+
+    @Override
+    public void reset() {
+        hand.clear();
+        seenCards = 0;
+        topCardBit = 0;
+    }
+
+    /**
+     * Counts a card drawn by any player. A draw from an empty pile means the game reshuffled the discards under the
+     * top card into a new draw pile, so those cards are unseen again and the game plays with the reshuffle rule.
+     */
+    private void countDraw() {
+
+        if (drawPileSize == 0) {
+            drawPileSize = Long.bitCount(seenCards & ~topCardBit);
+            seenCards = topCardBit;
+            reshuffleDiscards = true;
+        }
+        drawPileSize--;
+
+    }
+
+    /**
+     * Searches for the best move, unless there is only one card to place and it is not an 8.
+     * @param topCard the index of the top card of the pile.
+     * @param pileSuit the ordinal of the suit to match.
+     * @return the chosen move.
+     */
+    private int search(int topCard, int pileSuit) {
+
+        Observation observation = new Observation(hand.getMask(), seenCards, handSizes.clone(), drawPileSize,
+                topCard, pileSuit, playerSeat, reshuffleDiscards);
+
+        GameState root = new GameState(handSizes.length);
+        observation.determinize(root, new int[Card.DECK_SIZE], random);
+        long playable = root.playableMask();
+        if (Long.bitCount(playable) == 1 && Long.numberOfTrailingZeros(playable) % Card.RANKS_PER_SUIT != EIGHT) {
+            return Long.numberOfTrailingZeros(playable);
+        }
+
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        int rolloutsPerSearch = (rolloutsPerMove + parallelism - 1) / parallelism;
+
+        Search[] searches = new Search[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            searches[i] = new Search(observation, random.split(), rolloutsPerSearch, deadline);
+        }
+
+        //the calling thread runs the first search itself, so a single search never changes threads
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[parallelism - 1];
+        for (int i = 1; i < parallelism; i++) {
+            tasks[i - 1] = ForkJoinPool.commonPool().submit(searches[i]);
+        }
+        searches[0].run();
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        int firstCard = Long.numberOfTrailingZeros(playable);
+        return mostVisitedMove(searches, GameState.playMove(firstCard, firstCard / Card.RANKS_PER_SUIT));
+
+    }
+
+    /**
+     * Adds up the visits of each root move over all searches.
+     * @param searches the finished searches.
+     * @param fallback the move to play if no move was tried at all.
+     * @return the move with the most visits.
+     */
+    private static int mostVisitedMove(Search[] searches, int fallback) {
+
+        Node firstRoot = searches[0].root;
+        int bestMove = fallback;
+        long bestVisits = -1;
+
+        for (int i = 0; i < firstRoot.childCount; i++) {
+            int move = firstRoot.childMoves[i];
+            long visits = 0;
+            for (Search search : searches) {
+                Node child = search.root.findChild(move);
+                visits += child == null ? 0 : child.visits;
+            }
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                bestMove = move;
+            }
+        }
+
+        return bestMove;
+
+    }
+
+    /**
+     * What the strategy knew at the start of a search. It is only read, so parallel searches can share it.
+     */
+    private static final class Observation {
+
+        final long hand;
+        final long seenCards;
+        final int[] handSizes;
+        final int drawPileSize;
+        final int topCard;
+        final int pileSuit;
+        final int seat;
+        final boolean reshuffleDiscards;
+
+        Observation(long hand, long seenCards, int[] handSizes, int drawPileSize, int topCard, int pileSuit,
+                    int seat, boolean reshuffleDiscards) {
+            this.hand = hand;
+            this.seenCards = seenCards;
+            this.handSizes = handSizes;
+            this.drawPileSize = drawPileSize;
+            this.topCard = topCard;
+            this.pileSuit = pileSuit;
+            this.seat = seat;
+            this.reshuffleDiscards = reshuffleDiscards;
+        }
+
+        /**
+         * Deals a random guess of the hidden cards that agrees with everything observed.
+         * Unseen cards left over after the hands and the draw pile were dealt are the buried discards, which are
+         * under the top card with the seen ones.
+         * @param state the state to deal into.
+         * @param unseen a scratch array of at least 52 ints.
+         * @param random the generator for the guess.
+         */
+        void determinize(GameState state, int[] unseen, SplittableRandom random) {
+
+            long unseenMask = FULL_DECK & ~(hand | seenCards);
+            int unseenCount = 0;
+            while (unseenMask != 0) {
+                unseen[unseenCount++] = Long.numberOfTrailingZeros(unseenMask);
+                unseenMask &= unseenMask - 1;
+            }
+
+            //partial Fisher-Yates, each card is picked at random from the ones not dealt yet
+            int dealt = 0;
+            long placed = 1L << topCard;
+            for (int other = 0; other < state.numSeats; other++) {
+                state.hands[other] = 0;
+                if (other == seat) {
+                    state.hands[other] = hand;
+                } else {
+                    for (int i = 0; i < handSizes[other] && dealt < unseenCount; i++) {
+                        state.hands[other] |= 1L << pick(unseen, dealt++, unseenCount, random);
+                    }
+                }
+                placed |= state.hands[other];
+            }
+
+            state.drawTop = 0;
+            state.drawEnd = 0;
+            for (int i = 0; i < drawPileSize && dealt < unseenCount; i++) {
+                state.drawPile[state.drawEnd] = pick(unseen, dealt++, unseenCount, random);
+                placed |= 1L << state.drawPile[state.drawEnd++];
+            }
+
+            state.topCard = topCard;
+            state.pileSuit = pileSuit;
+            state.discards = FULL_DECK & ~placed;
+            state.reshuffleDiscards = reshuffleDiscards;
+            state.shuffleState = random.nextLong();
+            state.seat = seat;
+            //only when turns were missed can the counted draw pile run dry before the round ended
+            state.roundOver = state.drawEnd == 0 && !(reshuffleDiscards && state.discards != 0);
+
+        }
+
+        private static int pick(int[] cards, int position, int count, SplittableRandom random) {
+            int other = position + random.nextInt(count - position);
+            int card = cards[other];
+            cards[other] = cards[position];
+            cards[position] = card;
+            return card;
+        }
+    }
+
+    /**
+     * A node of the search tree, reached by one move of the player in the given seat.
+     */
+    private static final class Node {
+
+        final Node parent;
+        final int move;
+        final int seat;
+        int visits;
+        double totalReward;
+        int availability;
+        int[] childMoves = new int[4];
+        Node[] children = new Node[4];
+        int childCount;
+
+        Node(Node parent, int move, int seat) {
+            this.parent = parent;
+            this.move = move;
+            this.seat = seat;
+        }
+
+        Node findChild(int childMove) {
+            for (int i = 0; i < childCount; i++) {
+                if (childMoves[i] == childMove) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(int childMove, int childSeat) {
+
+            if (childCount == children.length) {
+                childMoves = Arrays.copyOf(childMoves, childCount * 2);
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+
+            Node child = new Node(this, childMove, childSeat);
+            childMoves[childCount] = childMove;
+            children[childCount++] = child;
+            return child;
+
+        }
+    }
+
+    /**
+     * One search tree, grown by one thread.
+     */
+    private static final class Search implements Runnable {
+
+        final Node root = new Node(null, GameState.DRAW, -1);
+        private final Observation observation;
+        private final SplittableRandom random;
+        private final int rollouts;
+        private final long deadline;
+        private final GameState state;
+        private final int[] unseen = new int[Card.DECK_SIZE];
+
+        Search(Observation observation, SplittableRandom random, int rollouts, long deadline) {
+            this.observation = observation;
+            this.random = random;
+            this.rollouts = rollouts;
+            this.deadline = deadline;
+            this.state = new GameState(observation.handSizes.length);
+        }
+
+        @Override
+        public void run() {
+
+            for (int i = 0; i < rollouts; i++) {
+                //reading the clock every few rollouts keeps its cost out of the search
+                if ((i & 15) == 15 && System.nanoTime() > deadline) {
+                    break;
+                }
+                iterate();
+            }
+
+        }
+
+        private void iterate() {
+
+            observation.determinize(state, unseen, random);
+
+            //selection and expansion over the moves that are legal in this determinization
+            Node node = root;
+            while (!state.roundOver) {
+                long playable = state.playableMask();
+                int move = playable == 0 ? GameState.DRAW : select(node, playable);
+                Node child = node.findChild(move);
+                boolean expanded = child == null;
+                if (expanded) {
+                    child = node.addChild(move, state.seat);
+                    child.availability++;
+                }
+                state.apply(move);
+                node = child;
+                if (expanded) {
+                    break;
+                }
+            }
+
+            //random playout to the end of the round
+            while (!state.roundOver) {
+                state.apply(randomMove());
+            }
+
+            for (; node != root; node = node.parent) {
+                node.visits++;
+                node.totalReward += state.reward(node.seat);
+            }
+            root.visits++;
+
+        }
+
+        /**
+         * Picks a move that was never tried from this node if there is one, otherwise the move with the best
+         * upper confidence bound. Every existing child that is legal here counts one more availability.
+         */
+        private int select(Node node, long playable) {
+
+            int untriedMove = 0;
+            int untriedCount = 0;
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (long cards = playable; cards != 0; cards &= cards - 1) {
+                int card = Long.numberOfTrailingZeros(cards);
+                int suits = card % Card.RANKS_PER_SUIT == EIGHT ? 4 : 1;
+                for (int suit = 0; suit < suits; suit++) {
+                    int move = GameState.playMove(card, suit);
+                    Node child = node.findChild(move);
+                    if (child == null) {
+                        //reservoir sampling picks a uniformly random untried move
+                        if (random.nextInt(++untriedCount) == 0) {
+                            untriedMove = move;
+                        }
+                        continue;
+                    }
+                    child.availability++;
+                    double value = child.totalReward / child.visits
+                            + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        best = child;
+                    }
+                }
+            }
+
+            return untriedCount > 0 ? untriedMove : best.move;
+
+        }
+
+        /**
+         * Playout policy: a random playable card, declaring the suit the player holds most of with an 8.
+         */
+        private int randomMove() {
+
+            long playable = state.playableMask();
+            if (playable == 0) {
+                return GameState.DRAW;
+            }
+
+            long cards = playable;
+            for (int skip = random.nextInt(Long.bitCount(playable)); skip > 0; skip--) {
+                cards &= cards - 1;
+            }
+            int card = Long.numberOfTrailingZeros(cards);
+            if (card % Card.RANKS_PER_SUIT != EIGHT) {
+                return card;
+            }
+
+            long rest = state.hands[state.seat] & ~(1L << card);
+            int bestSuit = card / Card.RANKS_PER_SUIT;
+            for (int suit = 0; suit < 4; suit++) {
+                if (Long.bitCount(rest & Hand.SUIT_MASKS[suit]) > Long.bitCount(rest & Hand.SUIT_MASKS[bestSuit])) {
+                    bestSuit = suit;
+                }
+            }
+            return GameState.playMove(card, bestSuit);
+
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example;
+
+/**
+ * Takes the moves of players that answer turns asynchronously, such as a GameServer or a connection to one.
+ */
+public interface MoveSink {
+
+    /**
+     * Submits a move, from any thread.
+     * @param tableId the id of the table.
+     * @param playerId the id of the player making the move.
+     * @param move the move, encoded as in GameState.
+     */
+    void submitMove(int tableId, int playerId, int move);
+
+}
@@ -0,0 +1,82 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An unbounded lock-free queue for many producer threads and a single consumer thread, after Dmitry Vyukov's
+ * intrusive MPSC queue.
+ *
+ * A producer links its node in with one atomic exchange of the tail and never waits for another producer. The
+ * consumer follows next links from a stub node and does no atomic writes at all. Between the exchange and the link of
+ * the previous node a producer's element is not visible yet, so poll may return null while an offer is in flight;
+ * the element shows up on a later poll.
+ * @param <E> the type of the elements.
+ */
+public class MpscQueue<E> {
+
+    private final AtomicReference<Node<E>> tail;
+    private Node<E> head;
+
+    /**
+     * Creates an empty queue.
+     */
+    public MpscQueue() {
+        Node<E> stub = new Node<>(null);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Adds an element at the tail, from any thread.
+     * @param element the element, not null.
+     */
+    public void offer(E element) {
+
+        if (element == null) {
+            throw new IllegalArgumentException("The queue cannot hold null");
+        }
+
+        Node<E> node = new Node<>(element);
+        Node<E> previous = tail.getAndSet(node);
+        previous.next = node;
+
+    }
+
+    /**
+     * Takes the element at the head, only from the consumer thread.
+     * @return the element, or null if the queue is empty.
+     */
+    public E poll() {
+
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+
+        //the node becomes the new stub, so its element is cleared for the garbage collector
+        E element = next.element;
+        next.element = null;
+        head = next;
+        return element;
+
+    }
+
+    /**
+     * Checks if the queue holds no elements, only from the consumer thread.
+     * @return true if poll would return null now.
+     */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    private static final class Node<E> {
+
+        private E element;
+        private volatile Node<E> next;
+
+        Node(E element) {
+            this.element = element;
+        }
+    }
+
+}
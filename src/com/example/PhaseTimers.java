@@ -0,0 +1,327 @@
+package com.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation that times every phase and strategy decision with System.nanoTime.
+ *
+ * Latencies go into LogHistograms and counts into LongAdders, so the games of a tournament share one PhaseTimers
+ * without locks. The numbers can be read directly, over JMX after register, and as JFR events: while a recording
+ * has the com.example.Phase or com.example.Decision event enabled, every timed phase or decision is committed to it.
+ */
+public class PhaseTimers implements Instrumentation, PhaseTimersMXBean {
+
+    private static final Instrumentation.Phase[] PHASES = Instrumentation.Phase.values();
+    private static final Instrumentation.Counter[] COUNTERS = Instrumentation.Counter.values();
+
+    private final long slowDecisionNanos;
+    private final LogHistogram[] phases = new LogHistogram[PHASES.length];
+    private final LongAdder[] counters = new LongAdder[COUNTERS.length];
+    private final LongAdder slowDecisions = new LongAdder();
+    private final Map<String, LogHistogram> decisions = new ConcurrentHashMap<>();
+    private final ClassValue<LogHistogram> decisionsByClass = new ClassValue<LogHistogram>() {
+        @Override
+        protected LogHistogram computeValue(Class<?> type) {
+            return decisions.computeIfAbsent(strategyName(type), name -> new LogHistogram());
+        }
+    };
+    private ObjectName objectName;
+
+    /**
+     * Creates timers that count decisions slower than a millisecond as slow.
+     */
+    public PhaseTimers() {
+        this(1_000_000);
+    }
+
+    /**
+     * Creates timers.
+     * @param slowDecisionNanos decisions that take longer than this many nanoseconds are counted as slow.
+     */
+    public PhaseTimers(long slowDecisionNanos) {
+
+        if (slowDecisionNanos < 0) {
+            throw new IllegalArgumentException("The slow decision threshold cannot be negative");
+        }
+
+        this.slowDecisionNanos = slowDecisionNanos;
+        for (int phase = 0; phase < phases.length; phase++) {
+            phases[phase] = new LogHistogram();
+        }
+        for (int counter = 0; counter < counters.length; counter++) {
+            counters[counter] = new LongAdder();
+        }
+
+    }
+
+    /**
+     * Gets the name decisions of a strategy class are kept under.
+     */
+    private static String strategyName(Class<?> type) {
+        //anonymous strategies have no simple name
+        return type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void end(Instrumentation.Phase phase, long start) {
+
+        long nanos = Math.max(0, System.nanoTime() - start);
+        phases[phase.ordinal()].record(nanos);
+
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase.name();
+            event.nanos = nanos;
+            event.commit();
+        }
+
+    }
+
+    /**
+     * Gets the strategy that really decides for a seat, which for a guarded seat is the one behind the deadline.
+     */
+    private static PlayerStrategy decidingStrategy(PlayerStrategy strategy) {
+
+        while (strategy instanceof DeadlineStrategy) {
+            strategy = ((DeadlineStrategy) strategy).getStrategy();
+        }
+        return strategy;
+
+    }
+
+    @Override
+    public void endDecision(PlayerStrategy strategy, int playerId, long start) {
+
+        long nanos = Math.max(0, System.nanoTime() - start);
+        Class<?> strategyClass = decidingStrategy(strategy).getClass();
+        phases[Instrumentation.Phase.DECISION.ordinal()].record(nanos);
+        decisionsByClass.get(strategyClass).record(nanos);
+        if (nanos > slowDecisionNanos) {
+            slowDecisions.increment();
+        }
+
+        DecisionEvent event = new DecisionEvent();
+        if (event.isEnabled()) {
+            event.strategy = strategyName(strategyClass);
+            event.playerId = playerId;
+            event.nanos = nanos;
+            event.commit();
+        }
+
+    }
+
+    @Override
+    public void count(Instrumentation.Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    /**
+     * Gets the latencies of a phase.
+     * @param phase the phase.
+     * @return the histogram of its durations in nanoseconds.
+     */
+    public LogHistogram getPhase(Instrumentation.Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Gets the decision times of a strategy.
+     * @param strategyName the simple class name of the strategy, of the guarded one for a DeadlineStrategy.
+     * @return the histogram of its decision times in nanoseconds, null if it has not decided yet.
+     */
+    public LogHistogram getDecisions(String strategyName) {
+        return decisions.get(strategyName);
+    }
+
+    /**
+     * Gets a counter.
+     * @param counter the counter.
+     * @return how often it was counted.
+     */
+    public long getCount(Instrumentation.Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getPhaseCounts() {
+
+        Map<String, Long> counts = new TreeMap<>();
+        for (Instrumentation.Phase phase : PHASES) {
+            counts.put(phase.name(), getPhase(phase).getCount());
+        }
+        return counts;
+
+    }
+
+    @Override
+    public Map<String, Long> getPhaseTotalNanos() {
+
+        Map<String, Long> totals = new TreeMap<>();
+        for (Instrumentation.Phase phase : PHASES) {
+            LogHistogram histogram = getPhase(phase);
+            totals.put(phase.name(), Math.round(histogram.getMean() * histogram.getCount()));
+        }
+        return totals;
+
+    }
+
+    @Override
+    public Map<String, Long> getPhaseP99Nanos() {
+
+        Map<String, Long> percentiles = new TreeMap<>();
+        for (Instrumentation.Phase phase : PHASES) {
+            percentiles.put(phase.name(), getPhase(phase).getValueAtPercentile(99));
+        }
+        return percentiles;
+
+    }
+
+    @Override
+    public Map<String, Long> getDecisionP99Nanos() {
+
+        Map<String, Long> percentiles = new TreeMap<>();
+        decisions.forEach((name, histogram) -> percentiles.put(name, histogram.getValueAtPercentile(99)));
+        return percentiles;
+
+    }
+
+    @Override
+    public Map<String, Long> getDecisionMaxNanos() {
+
+        Map<String, Long> maxima = new TreeMap<>();
+        decisions.forEach((name, histogram) -> maxima.put(name, histogram.getMax()));
+        return maxima;
+
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+
+        Map<String, Long> counts = new TreeMap<>();
+        for (Instrumentation.Counter counter : COUNTERS) {
+            counts.put(counter.name(), getCount(counter));
+        }
+        return counts;
+
+    }
+
+    @Override
+    public long getSlowDecisions() {
+        return slowDecisions.sum();
+    }
+
+    /**
+     * Registers the timers with the platform MBean server as com.example:type=PhaseTimers,name=the given name.
+     * @param name the name that tells these timers apart from others.
+     * @return the object name they were registered under.
+     * @throws IllegalStateException if the timers are already registered or the name is taken.
+     */
+    public synchronized ObjectName register(String name) throws IllegalStateException {
+
+        if (objectName != null) {
+            throw new IllegalStateException("Already registered as " + objectName);
+        }
+
+        try {
+            ObjectName newName = ObjectName.getInstance("com.example:type=PhaseTimers,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+            objectName = newName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the timers as " + name, e);
+        }
+
+    }
+
+    /**
+     * Removes the timers from the platform MBean server, if they are registered.
+     */
+    public synchronized void unregister() {
+
+        if (objectName == null) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            //somebody else unregistered it, which leaves the same result
+        }
+        objectName = null;
+
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+        for (Instrumentation.Phase phase : PHASES) {
+            builder.append(phase).append(" ns: ").append(getPhase(phase)).append('\n');
+        }
+        for (String name : new TreeMap<>(decisions).keySet()) {
+            builder.append(name).append(" decision ns: ").append(decisions.get(name)).append('\n');
+        }
+        builder.append("Counters: ").append(getCounters()).append(", slow decisions: ").append(getSlowDecisions())
+                .append('\n');
+        return builder.toString();
+
+    }
+
+    /**
+     * A timed phase of a game, as a JFR event.
+     */
+    @Name("com.example.Phase")
+    @Label("Crazy 8 Phase")
+    @Category("Crazy 8")
+    @Description("A timed phase of a Crazy 8 game")
+    public static class PhaseEvent extends Event {
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    /**
+     * The strategy calls of one turn, as a JFR event.
+     */
+    @Name("com.example.Decision")
+    @Label("Crazy 8 Decision")
+    @Category("Crazy 8")
+    @Description("The strategy calls of one turn of a Crazy 8 game")
+    public static class DecisionEvent extends Event {
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Player")
+        int playerId;
+
+        @Label("Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.example;
+
+import java.util.Map;
+
+/**
+ * The JMX view of PhaseTimers. Maps are keyed by phase, counter or strategy name.
+ */
+public interface PhaseTimersMXBean {
+
+    /**
+     * Gets how often each phase ran.
+     * @return the number of times by phase.
+     */
+    Map<String, Long> getPhaseCounts();
+
+    /**
+     * Gets the time spent in each phase.
+     * @return the total nanoseconds by phase.
+     */
+    Map<String, Long> getPhaseTotalNanos();
+
+    /**
+     * Gets the 99th percentile latency of each phase.
+     * @return the nanoseconds by phase.
+     */
+    Map<String, Long> getPhaseP99Nanos();
+
+    /**
+     * Gets the 99th percentile decision time of each strategy.
+     * @return the nanoseconds by strategy.
+     */
+    Map<String, Long> getDecisionP99Nanos();
+
+    /**
+     * Gets the longest decision time of each strategy.
+     * @return the nanoseconds by strategy.
+     */
+    Map<String, Long> getDecisionMaxNanos();
+
+    /**
+     * Gets the counters.
+     * @return the count by counter.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Gets the number of decisions slower than the slow decision threshold.
+     * @return the number of slow decisions.
+     */
+    long getSlowDecisions();
+
+}
@@ -0,0 +1,157 @@
+package com.example;
+
+/**
+ * Checks every turn of a round against the rules as it is taken.
+ *
+ * The validator keeps the suit and rank a card must match, and whose turn it is, so checking a turn
+ * costs the same no matter how long the round has been going. A turn that breaks a rule is reported
+ * as a RuleViolation and leaves the state unchanged.
+ */
+public class RuleValidator {
+
+    private final int numPlayers;
+    private Card.Suit legalSuit;
+    private Card.Rank legalRank;
+    private long legalCards;
+    private int nextPlayerId;
+    private long turnNumber;
+
+    /**
+     * Creates a validator for a game.
+     * @param numPlayers the number of players, who take turns in order of their ids.
+     */
+    public RuleValidator(int numPlayers) {
+        this.numPlayers = numPlayers;
+    }
+
+    /**
+     * Checks if a card may be placed on the pile.
+     * @param pileSuit the suit of the top card, or the suit declared with an 8 on top.
+     * @param pileRank the rank of the top card.
+     * @param card the card to place.
+     * @return true if the card is an 8 or matches the pile's suit or rank.
+     */
+    public static boolean isLegalPlay(Card.Suit pileSuit, Card.Rank pileRank, Card card) {
+        //a top card with the pile's suit and rank has the same playable cards as the real one
+        return LegalMoves.isPlayable(card, Card.of(pileSuit, pileRank), null);
+    }
+
+    /**
+     * Starts a new round, player 1 takes the first turn.
+     * @param firstCard the first card on the discard pile.
+     */
+    public void startRound(Card firstCard) {
+
+        legalSuit = firstCard.getSuit();
+        legalRank = firstCard.getRank();
+        legalCards = LegalMoves.playableMask(firstCard, null);
+        nextPlayerId = 1;
+        turnNumber = 0;
+
+    }
+
+    /**
+     * Continues a round from the middle, as if the given card had just been placed.
+     * @param topCard the card on top of the discard pile.
+     * @param pileSuit the suit to match, the declared suit if the top card is an 8.
+     * @param nextPlayerId the id of the player whose turn is next.
+     */
+    public void restore(Card topCard, Card.Suit pileSuit, int nextPlayerId) {
+
+        if (nextPlayerId < 1 || nextPlayerId > numPlayers) {
+            throw new IllegalArgumentException("No player " + nextPlayerId + " among " + numPlayers);
+        }
+
+        legalSuit = pileSuit;
+        legalRank = topCard.getRank();
+        legalCards = LegalMoves.playableMask(topCard, topCard.getRank() == Card.Rank.EIGHT ? pileSuit : null);
+        this.nextPlayerId = nextPlayerId;
+        turnNumber = 0;
+
+    }
+
+    /**
+     * Checks a turn and moves the state past it if it is legal.
+     * @param turn the turn that was just taken.
+     * @return null if the turn is legal, otherwise the rule it broke.
+     */
+    public RuleViolation validate(PlayerTurn turn) {
+        return validate(turn, null);
+    }
+
+    /**
+     * Checks a turn before it is applied, including that the placed card is in the player's hand,
+     * and moves the state past it if it is legal.
+     * @param turn the turn the player wants to take.
+     * @param hand the player's hand before the turn, or null to skip the hand check.
+     * @return null if the turn is legal, otherwise the rule it broke.
+     */
+    public RuleViolation validate(PlayerTurn turn, Hand hand) {
+
+        RuleViolation.Type violation = findViolation(turn, hand);
+        if (violation != null) {
+            return new RuleViolation(violation, turn.playerId, turnNumber, turn.playedCard);
+        }
+
+        if (turn.playedCard != null) {
+            legalRank = turn.playedCard.getRank();
+            legalSuit = turn.declaredSuit != null ? turn.declaredSuit : turn.playedCard.getSuit();
+            legalCards = LegalMoves.playableMask(turn.playedCard, turn.declaredSuit);
+        }
+        nextPlayerId = nextPlayerId % numPlayers + 1;
+        turnNumber++;
+        return null;
+
+    }
+
+    private RuleViolation.Type findViolation(PlayerTurn turn, Hand hand) {
+
+        if (turn.playerId != nextPlayerId) {
+            return RuleViolation.Type.OUT_OF_TURN;
+        }
+
+        if (turn.drewACard) {
+            if (turn.playedCard != null) {
+                return RuleViolation.Type.DREW_AND_PLAYED;
+            }
+            return turn.declaredSuit != null ? RuleViolation.Type.UNEXPECTED_DECLARED_SUIT : null;
+        }
+
+        if (turn.playedCard == null) {
+            return RuleViolation.Type.NO_ACTION;
+        } else if (hand != null && !hand.contains(turn.playedCard)) {
+            return RuleViolation.Type.CARD_NOT_IN_HAND;
+        } else if ((legalCards & Hand.bit(turn.playedCard)) == 0) {
+            return RuleViolation.Type.CARD_NOT_PLAYABLE;
+        } else if (turn.playedCard.getRank() == Card.Rank.EIGHT) {
+            return turn.declaredSuit == null ? RuleViolation.Type.MISSING_DECLARED_SUIT : null;
+        }
+        return turn.declaredSuit != null ? RuleViolation.Type.UNEXPECTED_DECLARED_SUIT : null;
+
+    }
+
+    /**
+     * Gets the suit the next card has to match, unless it matches the rank or is an 8.
+     * @return the suit of the top card, or the declared suit if an 8 is on top.
+     */
+    public Card.Suit getLegalSuit() {
+        return legalSuit;
+    }
+
+    /**
+     * Gets the rank the next card has to match, unless it matches the suit or is an 8.
+     * @return the rank of the top card.
+     */
+    public Card.Rank getLegalRank() {
+        return legalRank;
+    }
+
+    /**
+     * Gets the player whose turn is validated next.
+     * @return the id of that player, starting at 1.
+     */
+    public int getNextPlayerId() {
+        return nextPlayerId;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.example;
+
+/**
+ * Describes a turn that broke the rules of Crazy 8s.
+ */
+public class RuleViolation {
+
+    /**
+     * The rule that was broken.
+     */
+    public enum Type {
+        /** The player took a turn when it was not their turn. */
+        OUT_OF_TURN,
+        /** The player neither drew nor placed a card. */
+        NO_ACTION,
+        /** The player drew a card and also placed one. */
+        DREW_AND_PLAYED,
+        /** The player placed a card that is not in their hand. */
+        CARD_NOT_IN_HAND,
+        /** The player placed a card that matches neither the suit nor the rank of the pile. */
+        CARD_NOT_PLAYABLE,
+        /** The player placed an 8 without declaring a suit. */
+        MISSING_DECLARED_SUIT,
+        /** The player declared a suit without placing an 8. */
+        UNEXPECTED_DECLARED_SUIT
+    }
+
+    private final Type type;
+    private final int playerId;
+    private final long turnNumber;
+    private final Card playedCard;
+
+    /**
+     * Creates a violation.
+     * @param type the rule that was broken.
+     * @param playerId the id of the player that broke it.
+     * @param turnNumber the number of the turn in the round, starting at 0.
+     * @param playedCard the card the player placed, or null.
+     */
+    public RuleViolation(Type type, int playerId, long turnNumber, Card playedCard) {
+        this.type = type;
+        this.playerId = playerId;
+        this.turnNumber = turnNumber;
+        this.playedCard = playedCard;
+    }
+
+    /**
+     * Gets the rule that was broken.
+     * @return the type of violation.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the player that broke the rule.
+     * @return the player's id.
+     */
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the turn the rule was broken on.
+     * @return the number of the turn in the round, starting at 0.
+     */
+    public long getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * Gets the card that was placed on the offending turn.
+     * @return the placed card, or null if none was placed.
+     */
+    public Card getPlayedCard() {
+        return playedCard;
+    }
+
+    @Override
+    public String toString() {
+        return type + " by player " + playerId + " on turn " + turnNumber
+                + (playedCard == null ? "" : " (" + playedCard.getRank() + " of " + playedCard.getSuit() + ")");
+    }
+
+}
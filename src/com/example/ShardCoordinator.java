@@ -0,0 +1,309 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays a tournament of several lineups in worker JVMs on this machine, so no single heap holds all of it.
+ *
+ * The games of every lineup are cut into shards of consecutive game numbers. Each shard is played by a ShardWorker
+ * process started with the same java and class path as this JVM, at most numWorkers at a time. A worker streams the
+ * result of every game over its standard output pipe and the coordinator merges them into one TournamentResult per
+ * lineup. A worker that dies, exits or sends something that is not a result only loses the games it did not report:
+ * those are played again by a new worker, up to MAX_ATTEMPTS times for the same game. Game n of a lineup has the seed
+ * Tournament gives it, so the merged result is the one of a Tournament of that lineup run in this JVM.
+ */
+public class ShardCoordinator {
+
+    /**
+     * The default number of games a worker plays.
+     */
+    public static final int DEFAULT_GAMES_PER_SHARD = 10_000;
+
+    /**
+     * The number of workers a game is given before the run fails.
+     */
+    public static final int MAX_ATTEMPTS = 3;
+
+    private final List<String[]> lineups;
+    private final int gamesPerLineup;
+    private final long seed;
+    private int numWorkers = Runtime.getRuntime().availableProcessors();
+    private int gamesPerShard = DEFAULT_GAMES_PER_SHARD;
+    private int numDecks = 1;
+    private boolean reshuffleDiscards;
+    private List<String> workerJvmOptions = Collections.emptyList();
+    private final Set<Process> workers = ConcurrentHashMap.newKeySet();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder workerFailures = new LongAdder();
+
+    /**
+     * Creates a coordinator.
+     * @param lineups the strategy name of each seat for each lineup, from StrategyRegistry.withDefaults().
+     * @param gamesPerLineup the number of games every lineup plays.
+     * @param seed the seed all the game seeds are derived from, as in Tournament.
+     */
+    public ShardCoordinator(List<String[]> lineups, int gamesPerLineup, long seed) {
+
+        if (gamesPerLineup < 0) {
+            throw new IllegalArgumentException("Negative number of games");
+        }
+
+        //workers only know the built-in strategies, so unknown names fail here rather than in every worker
+        StrategyRegistry registry = StrategyRegistry.withDefaults();
+        this.lineups = new ArrayList<>(lineups.size());
+        for (String[] lineup : lineups) {
+            if (lineup.length < 2 || lineup.length > Crazy8Game.MAX_PLAYERS) {
+                throw new IllegalArgumentException("A lineup of " + lineup.length + " seats cannot play");
+            }
+            registry.getAll(lineup);
+            this.lineups.add(lineup.clone());
+        }
+        this.gamesPerLineup = gamesPerLineup;
+        this.seed = seed;
+
+    }
+
+    /**
+     * Sets the number of worker processes that run at the same time.
+     * @param numWorkers at least 1, the number of cores by default.
+     */
+    public void setNumWorkers(int numWorkers) {
+
+        if (numWorkers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed");
+        }
+        this.numWorkers = numWorkers;
+
+    }
+
+    /**
+     * Sets the number of games a worker plays, which trades the start up time of a JVM against the games lost when
+     * a worker dies.
+     * @param gamesPerShard at least 1, DEFAULT_GAMES_PER_SHARD by default.
+     */
+    public void setGamesPerShard(int gamesPerShard) {
+
+        if (gamesPerShard < 1) {
+            throw new IllegalArgumentException("A shard needs at least one game");
+        }
+        this.gamesPerShard = gamesPerShard;
+
+    }
+
+    /**
+     * Sets the number of decks every game is played with, see Tournament.setNumDecks.
+     * @param numDecks from 1 to Card.MAX_DECKS, only 1 if a lineup has an ISMCTS seat.
+     */
+    public void setNumDecks(int numDecks) {
+
+        if (numDecks < 1 || numDecks > Card.MAX_DECKS) {
+            throw new IllegalArgumentException("Cannot play with " + numDecks + " decks");
+        }
+        //every worker would fail to seat it, so it fails here rather than after MAX_ATTEMPTS workers
+        for (String[] lineup : lineups) {
+            if (numDecks > 1 && Arrays.asList(lineup).contains(StrategyRegistry.ISMCTS)) {
+                throw new IllegalArgumentException(StrategyRegistry.ISMCTS + " only plays with one deck, not "
+                        + numDecks);
+            }
+        }
+        this.numDecks = numDecks;
+
+    }
+
+    /**
+     * Turns the reshuffle rule on or off for every game, see Crazy8Game.setReshuffleDiscards.
+     * @param reshuffleDiscards true to shuffle the discards into a new draw pile when it runs out.
+     */
+    public void setReshuffleDiscards(boolean reshuffleDiscards) {
+        this.reshuffleDiscards = reshuffleDiscards;
+    }
+
+    /**
+     * Sets the options of the worker JVMs, such as their heap size.
+     * @param options the options put before the main class, for example "-Xmx256m".
+     */
+    public void setWorkerJvmOptions(String... options) {
+        this.workerJvmOptions = Arrays.asList(options.clone());
+    }
+
+    /**
+     * Gets the number of game results received so far, which can be watched while run plays.
+     * @return the number of games finished by the workers.
+     */
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    /**
+     * Gets the number of workers that ended before they reported all their games.
+     * @return the number of failed workers.
+     */
+    public long getWorkerFailures() {
+        return workerFailures.sum();
+    }
+
+    /**
+     * Plays every game of every lineup in worker processes and merges their results.
+     * @return the result of each lineup, in the order of the lineups.
+     * @throws InterruptedException if the thread is interrupted, which stops the workers.
+     */
+    public TournamentResult[] run() throws InterruptedException {
+
+        TournamentResult[] results = new TournamentResult[lineups.size()];
+        for (int lineup = 0; lineup < results.length; lineup++) {
+            results[lineup] = new TournamentResult(lineups.get(lineup).length);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(numWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "shard-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<ShardRun> runs = new ExecutorCompletionService<>(pool);
+        int running = 0;
+        for (int lineup = 0; lineup < results.length; lineup++) {
+            for (int firstGame = 0; firstGame < gamesPerLineup; firstGame += gamesPerShard) {
+                Shard shard = new Shard(lineup, firstGame, Math.min(firstGame + gamesPerShard, gamesPerLineup), 1);
+                runs.submit(() -> play(shard));
+                running++;
+            }
+        }
+
+        try {
+            while (running > 0) {
+                ShardRun run = runs.take().get();
+                running--;
+                Shard shard = run.shard;
+                results[shard.lineup].merge(run.result);
+                if (run.nextGame == shard.endGame) {
+                    continue;
+                }
+
+                //a worker that got further is the first to fail at its next game
+                workerFailures.increment();
+                int failures = run.nextGame == shard.firstGame ? shard.attempt : 1;
+                if (failures == MAX_ATTEMPTS) {
+                    throw new IllegalStateException("Workers failed " + MAX_ATTEMPTS + " times at game " + run.nextGame
+                            + " of lineup " + String.join(",", lineups.get(shard.lineup)));
+                }
+                Shard rest = new Shard(shard.lineup, run.nextGame, shard.endGame, failures + 1);
+                runs.submit(() -> play(rest));
+                running++;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A shard could not be played", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            for (Process worker : workers) {
+                worker.destroyForcibly();
+            }
+        }
+        return results;
+
+    }
+
+    /**
+     * Plays a shard in a new worker and reads its results until it has sent them all or stops sending.
+     * @param shard the games to play.
+     * @return the games the worker reported.
+     * @throws IOException if the worker cannot be started.
+     * @throws InterruptedException if the run is stopped.
+     */
+    private ShardRun play(Shard shard) throws IOException, InterruptedException {
+
+        String[] lineup = lineups.get(shard.lineup);
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(workerJvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ShardWorker.class.getName());
+        command.add(Long.toString(seed));
+        command.add(Integer.toString(numDecks));
+        command.add(Boolean.toString(reshuffleDiscards));
+        command.add(Integer.toString(shard.firstGame));
+        command.add(Integer.toString(shard.endGame));
+        command.addAll(Arrays.asList(lineup));
+
+        Process worker = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        workers.add(worker);
+        ShardRun run = new ShardRun(shard, new TournamentResult(lineup.length));
+        ByteBuffer frame = ByteBuffer.allocate(WireCodec.MAX_FRAME_SIZE);
+        int[] scores = new int[lineup.length];
+        try (InputStream in = new BufferedInputStream(worker.getInputStream())) {
+            worker.getOutputStream().close();
+            while (run.nextGame < shard.endGame && WireCodec.readFrame(in, frame)) {
+                if (frame.get() != ShardWorker.GAME || WireCodec.getVarint(frame) != run.nextGame) {
+                    break;
+                }
+                int rounds = WireCodec.getVarint(frame);
+                long turns = WireCodec.getVarlong(frame);
+                int winnerId = WireCodec.getRoundResult(frame, scores);
+                run.result.addGame(rounds, turns, winnerId, scores);
+                run.nextGame++;
+                gamesFinished.increment();
+            }
+        } catch (IOException | RuntimeException e) {
+            //a worker that died or sent something else only loses the games it did not report
+        } finally {
+            if (run.nextGame < shard.endGame) {
+                worker.destroyForcibly();
+            }
+            worker.waitFor();
+            workers.remove(worker);
+        }
+        return run;
+
+    }
+
+    /**
+     * A range of games of one lineup, and the number of the attempt at its first game.
+     */
+    private static final class Shard {
+
+        private final int lineup;
+        private final int firstGame;
+        private final int endGame;
+        private final int attempt;
+
+        Shard(int lineup, int firstGame, int endGame, int attempt) {
+            this.lineup = lineup;
+            this.firstGame = firstGame;
+            this.endGame = endGame;
+            this.attempt = attempt;
+        }
+    }
+
+    /**
+     * The games of a shard one worker reported, which are always the first ones in game number order.
+     */
+    private static final class ShardRun {
+
+        private final Shard shard;
+        private final TournamentResult result;
+        private int nextGame;
+
+        ShardRun(Shard shard, TournamentResult result) {
+            this.shard = shard;
+            this.result = result;
+            this.nextGame = shard.firstGame;
+        }
+    }
+
+}
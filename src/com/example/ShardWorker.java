@@ -0,0 +1,89 @@
+package com.example;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The main class of a worker process of a ShardCoordinator. It plays a range of games of one lineup, one after the
+ * other, and writes the result of each game to its standard output.
+ *
+ * The arguments are the tournament seed, the number of decks, true or false for the reshuffle rule, the first game
+ * and the end of the range, and the strategy name of each seat from StrategyRegistry.withDefaults(). Game n is played
+ * with the seed a Tournament with the same seed gives it. Each result is a WireCodec frame of type GAME with the
+ * varint game number, the varint number of rounds, the varlong number of turns and the round result encoding of the
+ * winner and the final scores. Frames are flushed every GAMES_PER_FLUSH games; a worker that dies loses at most the
+ * results it had not flushed yet, which the coordinator plays again.
+ */
+public class ShardWorker {
+
+    /**
+     * The type of the frame of a game result.
+     */
+    static final int GAME = 1;
+
+    private static final int GAMES_PER_FLUSH = 64;
+
+    /**
+     * The index of the first strategy name in the arguments.
+     */
+    static final int FIRST_NAME_ARGUMENT = 5;
+
+    private ShardWorker() {
+    }
+
+    /**
+     * Plays the games and writes their results.
+     * @param args see the class description.
+     * @throws IOException if the results cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < FIRST_NAME_ARGUMENT + 1) {
+            throw new IllegalArgumentException("Usage: ShardWorker seed numDecks reshuffle firstGame endGame "
+                    + "strategy...");
+        }
+
+        long seed = Long.parseLong(args[0]);
+        int numDecks = Integer.parseInt(args[1]);
+        boolean reshuffleDiscards = Boolean.parseBoolean(args[2]);
+        int firstGame = Integer.parseInt(args[3]);
+        int endGame = Integer.parseInt(args[4]);
+        String[] seatNames = Arrays.copyOfRange(args, FIRST_NAME_ARGUMENT, args.length);
+        StrategyFactory[] seatFactories = StrategyRegistry.withDefaults().getAll(seatNames);
+
+        //standard output carries the results, so anything a strategy prints goes to standard error
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out));
+        System.setOut(System.err);
+
+        Tournament seeds = new Tournament(seatFactories, endGame, seed);
+        ByteBuffer frame = ByteBuffer.allocate(WireCodec.MAX_FRAME_SIZE + 1);
+        int[] scores = new int[seatFactories.length];
+        for (int gameNum = firstGame; gameNum < endGame; gameNum++) {
+            Crazy8Game game = new Crazy8Game(seatFactories, numDecks, seeds.getGameSeed(gameNum), GameEventSink.SILENT,
+                    Instrumentation.NOOP);
+            game.setReshuffleDiscards(reshuffleDiscards);
+            Crazy8Game.Player winner = game.playGame();
+            for (Crazy8Game.Player player : game.getPlayers()) {
+                scores[player.getPlayerId() - 1] = player.getPlayerScore();
+            }
+
+            WireCodec.startFrame(frame, GAME);
+            WireCodec.putVarint(frame, gameNum);
+            WireCodec.putVarint(frame, game.getRoundsPlayed());
+            WireCodec.putVarlong(frame, game.getTurnsPlayed());
+            WireCodec.putRoundResult(frame, winner == null ? 0 : winner.getPlayerId(), scores, scores.length);
+            WireCodec.sendFrame(frame, out);
+            if ((gameNum - firstGame + 1) % GAMES_PER_FLUSH == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics of many games as they are played, per strategy and over all rounds.
+ *
+ * Games report to the aggregator through recorders, event sinks that count a game's rounds in plain fields and
+ * add them to the shared statistics when a round or game ends. Every shared counter is a LongAdder or a LogHistogram,
+ * so recorders on any number of threads add to the same aggregator without locks, and the memory used depends on
+ * the number of strategies only. A recorder is used by one game at a time and can be reused for the next game.
+ */
+public class StatisticsAggregator {
+
+    private final Map<String, StrategyStatistics> strategies = new ConcurrentHashMap<>();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder gamesStopped = new LongAdder();
+    private final LogHistogram turnsPerRound = new LogHistogram();
+    private final LogHistogram drawsPerRound = new LogHistogram();
+    private final LogHistogram eightsPerRound = new LogHistogram();
+    private final LogHistogram roundsPerGame = new LogHistogram();
+
+    /**
+     * Creates an empty aggregator.
+     */
+    public StatisticsAggregator() {
+    }
+
+    /**
+     * Gets the statistics of a strategy, creating them if the strategy has not played yet.
+     * @param name the name of the strategy.
+     * @return the statistics of that strategy.
+     */
+    public StrategyStatistics getStrategy(String name) {
+        return strategies.computeIfAbsent(name, StrategyStatistics::new);
+    }
+
+    /**
+     * Gets the names of every strategy with statistics.
+     * @return the names in alphabetical order.
+     */
+    public Set<String> getStrategyNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(strategies.keySet()));
+    }
+
+    /**
+     * Creates a recorder for games with the given strategy in each seat.
+     * @param seatStrategies the name of the strategy in each seat, seat 0 is player 1.
+     * @return a sink to pass to each game, on one thread at a time.
+     */
+    public GameEventSink newRecorder(String... seatStrategies) {
+        return new Recorder(seatStrategies);
+    }
+
+    /**
+     * Gets the number of games that were won.
+     * @return the number of finished games.
+     */
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    /**
+     * Gets the number of games that were stopped because a turn broke the rules.
+     * @return the number of stopped games.
+     */
+    public long getGamesStopped() {
+        return gamesStopped.sum();
+    }
+
+    /**
+     * Gets the distribution of the number of turns in a round.
+     * @return the histogram of turns per round.
+     */
+    public LogHistogram getTurnsPerRound() {
+        return turnsPerRound;
+    }
+
+    /**
+     * Gets the distribution of the number of cards drawn in a round.
+     * @return the histogram of draws per round.
+     */
+    public LogHistogram getDrawsPerRound() {
+        return drawsPerRound;
+    }
+
+    /**
+     * Gets the distribution of the number of 8s placed in a round.
+     * @return the histogram of 8s per round.
+     */
+    public LogHistogram getEightsPerRound() {
+        return eightsPerRound;
+    }
+
+    /**
+     * Gets the distribution of the number of rounds in a finished game.
+     * @return the histogram of rounds per game.
+     */
+    public LogHistogram getRoundsPerGame() {
+        return roundsPerGame;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("Games finished: ").append(getGamesFinished()).append(", stopped: ").append(getGamesStopped())
+                .append('\n');
+        builder.append("Turns per round: ").append(turnsPerRound).append('\n');
+        builder.append("Draws per round: ").append(drawsPerRound).append('\n');
+        builder.append("8s per round: ").append(eightsPerRound).append('\n');
+        for (String name : getStrategyNames()) {
+            builder.append(strategies.get(name)).append('\n');
+        }
+        return builder.toString();
+
+    }
+
+    /**
+     * Counts the events of one game at a time and adds them to the aggregator at the end of each round and game.
+     */
+    private class Recorder implements GameEventSink {
+
+        private final StrategyStatistics[] seats;
+        private final int[] turns;
+        private final int[] draws;
+        private final int[] eights;
+        private final int[] scores;
+        private int roundWinner;
+        private int rounds;
+
+        Recorder(String[] seatStrategies) {
+
+            this.seats = new StrategyStatistics[seatStrategies.length];
+            for (int seat = 0; seat < seats.length; seat++) {
+                seats[seat] = getStrategy(seatStrategies[seat]);
+            }
+            this.turns = new int[seats.length];
+            this.draws = new int[seats.length];
+            this.eights = new int[seats.length];
+            this.scores = new int[seats.length];
+
+        }
+
+        @Override
+        public void onGameStarted(int numPlayers, int numDecks, long seed) {
+
+            if (numPlayers != seats.length) {
+                throw new IllegalStateException("The recorder has " + seats.length + " seats, the game "
+                        + numPlayers + " players");
+            }
+            Arrays.fill(scores, 0);
+            rounds = 0;
+
+        }
+
+        @Override
+        public void onRoundStarted(Card firstCard) {
+
+            Arrays.fill(turns, 0);
+            Arrays.fill(draws, 0);
+            Arrays.fill(eights, 0);
+            roundWinner = 0;
+
+        }
+
+        @Override
+        public void onCardDrawn(int playerId) {
+            turns[playerId - 1]++;
+            draws[playerId - 1]++;
+        }
+
+        @Override
+        public void onCardPlayed(int playerId, Card card) {
+            turns[playerId - 1]++;
+        }
+
+        @Override
+        public void onEightPlayed(int playerId, Card eight, Card.Suit declaredSuit) {
+            turns[playerId - 1]++;
+            eights[playerId - 1]++;
+        }
+
+        @Override
+        public void onRoundWon(int playerId) {
+            roundWinner = playerId;
+        }
+
+        /**
+         * Scores come last in a round, one per player, so the round is added with the last player's score.
+         */
+        @Override
+        public void onPlayerScore(int playerId, int score) {
+
+            int seat = playerId - 1;
+            seats[seat].addRound(turns[seat], draws[seat], eights[seat], score - scores[seat], playerId == roundWinner);
+            scores[seat] = score;
+
+            if (seat == seats.length - 1) {
+                int roundTurns = 0;
+                int roundDraws = 0;
+                int roundEights = 0;
+                for (int other = 0; other < seats.length; other++) {
+                    roundTurns += turns[other];
+                    roundDraws += draws[other];
+                    roundEights += eights[other];
+                }
+                turnsPerRound.record(roundTurns);
+                drawsPerRound.record(roundDraws);
+                eightsPerRound.record(roundEights);
+                rounds++;
+            }
+
+        }
+
+        @Override
+        public void onRuleViolation(RuleViolation violation) {
+            gamesStopped.increment();
+        }
+
+        @Override
+        public void onGameWon(int playerId) {
+
+            for (int seat = 0; seat < seats.length; seat++) {
+                seats[seat].addGame(scores[seat], seat == playerId - 1);
+            }
+            roundsPerGame.record(rounds);
+            gamesFinished.increment();
+
+        }
+    }
+
+}
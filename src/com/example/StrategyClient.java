@@ -0,0 +1,130 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plays client seats of a GameServer with local strategies, one new strategy for every seat it is given.
+ *
+ * The client answers each turn right away on the thread that told it about the turn and submits the move to a
+ * MoveSink, the server itself or a connection to it. Its strategies never hear about the turns of their opponents,
+ * because the server does not send them.
+ */
+public class StrategyClient implements TableClient {
+
+    private final StrategyFactory factory;
+    private final long seed;
+    private final MoveSink moves;
+    private final Map<Long, PlayerStrategy> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a client.
+     * @param factory creates the strategy of each seat.
+     * @param seed the seed the generators of the strategies are made from, together with the table and player id.
+     * @param moves receives the moves of the strategies.
+     */
+    public StrategyClient(StrategyFactory factory, long seed, MoveSink moves) {
+        this.factory = factory;
+        this.seed = seed;
+        this.moves = moves;
+    }
+
+    /**
+     * Gets the number of seats the client plays right now.
+     * @return the number of seats at open tables.
+     */
+    public int getSeats() {
+        return seats.size();
+    }
+
+    private static Long keyOf(int tableId, int playerId) {
+        return (long) tableId << Integer.SIZE | playerId;
+    }
+
+    private PlayerStrategy seat(int tableId, int playerId) {
+
+        PlayerStrategy strategy = seats.get(keyOf(tableId, playerId));
+        if (strategy == null) {
+            throw new IllegalStateException("No seat of player " + playerId + " at table " + tableId);
+        }
+        return strategy;
+
+    }
+
+    @Override
+    public void onTableOpened(int tableId, int playerId, int numPlayers) {
+
+        //seats of one client at the same table get generators of their own
+        Long key = keyOf(tableId, playerId);
+        PlayerStrategy strategy = factory.create(new SplittableRandom(seed ^ key));
+        List<Integer> opponentIds = new ArrayList<>(numPlayers - 1);
+        for (int id = 1; id <= numPlayers; id++) {
+            if (id != playerId) {
+                opponentIds.add(id);
+            }
+        }
+        strategy.init(playerId, opponentIds);
+        seats.put(key, strategy);
+
+    }
+
+    @Override
+    public void onDeal(int tableId, int playerId, long hand) {
+
+        List<Card> cards = new ArrayList<>(Long.bitCount(hand));
+        for (long rest = hand; rest != 0; rest &= rest - 1) {
+            cards.add(Card.of(Long.numberOfTrailingZeros(rest)));
+        }
+
+        PlayerStrategy strategy = seat(tableId, playerId);
+        strategy.reset();
+        strategy.receiveInitialCards(cards);
+
+    }
+
+    @Override
+    public void onCardDrawn(int tableId, int playerId, Card card) {
+        seat(tableId, playerId).receiveCard(card);
+    }
+
+    /**
+     * Asks the strategy for its move. A strategy that chose to play but has no card draws instead.
+     */
+    @Override
+    public void onTurn(int tableId, int playerId, Card topCard, Card.Suit declaredSuit) {
+
+        PlayerStrategy strategy = seat(tableId, playerId);
+        strategy.processOpponentActions(Collections.emptyList());
+
+        int move = GameState.DRAW;
+        if (!strategy.shouldDrawCard(topCard, declaredSuit)) {
+            Card card = strategy.playCard();
+            if (card != null) {
+                Card.Suit suit = card.getRank() == Card.Rank.EIGHT ? strategy.declareSuit() : null;
+                move = GameState.playMove(card.getIndex(), suit == null ? 0 : suit.ordinal());
+            }
+        }
+        moves.submitMove(tableId, playerId, move);
+
+    }
+
+    /**
+     * A rejected move means the strategy and the server disagree about the hand, so the client draws to go on.
+     */
+    @Override
+    public void onMoveRejected(int tableId, int playerId, int move) {
+        if (!GameState.isDraw(move)) {
+            moves.submitMove(tableId, playerId, GameState.DRAW);
+        }
+    }
+
+    @Override
+    public void onGameOver(int tableId, int playerId, int winnerId) {
+        seats.remove(keyOf(tableId, playerId));
+    }
+
+}
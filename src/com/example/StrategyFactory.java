@@ -0,0 +1,17 @@
+package com.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * Creates a new instance of a strategy for one seat of one game.
+ */
+public interface StrategyFactory {
+
+    /**
+     * Creates a strategy.
+     * @param random a generator split off the game's generator, for every random choice of the strategy.
+     * @return a new strategy that is only used by one seat of one game.
+     */
+    PlayerStrategy create(SplittableRandom random);
+
+}
@@ -0,0 +1,83 @@
+package com.example;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Strategy factories by name, so tournaments and benchmarks can pick the strategies for each seat by name.
+ */
+public class StrategyRegistry {
+
+    /**
+     * Name of the built-in strategy that plays the first card it can.
+     */
+    public static final String GREEDY = "greedy";
+
+    /**
+     * Name of the built-in strategy that searches with information set Monte Carlo tree search.
+     */
+    public static final String ISMCTS = "ismcts";
+
+    private final Map<String, StrategyFactory> factories = new LinkedHashMap<>();
+
+    /**
+     * Creates a registry that only knows the built-in strategies.
+     * @return a new registry.
+     */
+    public static StrategyRegistry withDefaults() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register(GREEDY, GreedyStrategy::new);
+        registry.register(ISMCTS, random -> new MonteCarloStrategy(random, MonteCarloStrategy.DEFAULT_ROLLOUTS));
+        return registry;
+    }
+
+    /**
+     * Adds a strategy, replacing any strategy with the same name.
+     * @param name the name of the strategy.
+     * @param factory creates the strategy for one seat of one game.
+     */
+    public void register(String name, StrategyFactory factory) {
+        factories.put(name, factory);
+    }
+
+    /**
+     * Gets the factory of a strategy.
+     * @param name the name of the strategy.
+     * @return the factory registered under that name.
+     */
+    public StrategyFactory get(String name) {
+
+        StrategyFactory factory = factories.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+        return factory;
+
+    }
+
+    /**
+     * Gets the factories for a list of seats.
+     * @param names the strategy name for each seat, in seat order.
+     * @return the factory for each seat.
+     */
+    public StrategyFactory[] getAll(String... names) {
+
+        StrategyFactory[] seatFactories = new StrategyFactory[names.length];
+        for (int seat = 0; seat < names.length; seat++) {
+            seatFactories[seat] = get(names[seat]);
+        }
+        return seatFactories;
+
+    }
+
+    /**
+     * Gets the names of all registered strategies.
+     * @return the names in the order they were registered.
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(factories.keySet());
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.example;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running statistics of one strategy over every seat it played, fed by StatisticsAggregator.
+ * Counters are LongAdders and histograms are LogHistograms, so any number of game threads can add to them at once
+ * without locking, and the memory used does not grow with the number of games.
+ */
+public class StrategyStatistics {
+
+    /**
+     * The z value of a 95% confidence interval.
+     */
+    public static final double Z_95 = 1.959964;
+
+    private final String name;
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder roundsWon = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder eightsPlayed = new LongAdder();
+    private final LogHistogram finalScores = new LogHistogram();
+    private final LogHistogram roundPoints = new LogHistogram();
+
+    /**
+     * Creates empty statistics.
+     * @param name the name of the strategy.
+     */
+    StrategyStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds the counts of one seat in one finished round.
+     */
+    void addRound(int seatTurns, int seatDraws, int seatEights, int points, boolean wonRound) {
+
+        turns.add(seatTurns);
+        draws.add(seatDraws);
+        eightsPlayed.add(seatEights);
+        roundPoints.record(points);
+        if (wonRound) {
+            roundsWon.increment();
+        }
+
+    }
+
+    /**
+     * Adds the result of one seat in one finished game.
+     */
+    void addGame(int finalScore, boolean wonGame) {
+
+        gamesPlayed.increment();
+        finalScores.record(finalScore);
+        if (wonGame) {
+            wins.increment();
+        }
+
+    }
+
+    /**
+     * Gets the name of the strategy.
+     * @return the name the statistics are kept under.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of finished games the strategy had a seat in, counted once per seat.
+     * @return the number of seats played.
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed.sum();
+    }
+
+    /**
+     * Gets the number of games the strategy won.
+     * @return the number of wins.
+     */
+    public long getWins() {
+        return wins.sum();
+    }
+
+    /**
+     * Gets the share of its games the strategy won.
+     * @return the win rate, 0 if no game was played.
+     */
+    public double getWinRate() {
+        long games = getGamesPlayed();
+        return games == 0 ? 0 : (double) getWins() / games;
+    }
+
+    /**
+     * Gets the lower end of the Wilson score interval of the win rate.
+     * @param z the z value of the confidence level, Z_95 for 95%.
+     * @return the lower bound of the win rate.
+     */
+    public double getWinRateLowerBound(double z) {
+        return wilsonBound(getWins(), getGamesPlayed(), z, -1);
+    }
+
+    /**
+     * Gets the upper end of the Wilson score interval of the win rate.
+     * @param z the z value of the confidence level, Z_95 for 95%.
+     * @return the upper bound of the win rate.
+     */
+    public double getWinRateUpperBound(double z) {
+        return wilsonBound(getWins(), getGamesPlayed(), z, 1);
+    }
+
+    /**
+     * Gets one end of the Wilson score interval of a proportion, which stays inside 0 to 1 and behaves for few trials
+     * or proportions near 0 and 1, unlike the normal approximation.
+     * @param successes the number of successes.
+     * @param trials the number of trials.
+     * @param z the z value of the confidence level.
+     * @param sign -1 for the lower end, 1 for the upper end.
+     * @return the bound, 0 or 1 if there were no trials.
+     */
+    static double wilsonBound(long successes, long trials, double z, int sign) {
+
+        if (trials == 0) {
+            return sign < 0 ? 0 : 1;
+        }
+
+        double p = (double) successes / trials;
+        double zSquared = z * z;
+        double denominator = 1 + zSquared / trials;
+        double center = p + zSquared / (2 * trials);
+        double spread = z * Math.sqrt(p * (1 - p) / trials + zSquared / (4.0 * trials * trials));
+        return (center + sign * spread) / denominator;
+
+    }
+
+    /**
+     * Gets the number of rounds the strategy won.
+     * @return the number of rounds won.
+     */
+    public long getRoundsWon() {
+        return roundsWon.sum();
+    }
+
+    /**
+     * Gets the number of turns the strategy took.
+     * @return the number of turns.
+     */
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    /**
+     * Gets the number of cards the strategy drew on its turns.
+     * @return the number of draws.
+     */
+    public long getDraws() {
+        return draws.sum();
+    }
+
+    /**
+     * Gets the number of 8s the strategy placed.
+     * @return the number of 8s played.
+     */
+    public long getEightsPlayed() {
+        return eightsPlayed.sum();
+    }
+
+    /**
+     * Gets the distribution of the strategy's scores at the end of its games.
+     * @return the histogram of final scores.
+     */
+    public LogHistogram getFinalScores() {
+        return finalScores;
+    }
+
+    /**
+     * Gets the distribution of the points the strategy scored in a round.
+     * @return the histogram of points per round, 0 for rounds it scored nothing in.
+     */
+    public LogHistogram getRoundPoints() {
+        return roundPoints;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d games, win rate %.3f (95%% CI %.3f-%.3f), draws per turn %.3f,"
+                        + " 8s per turn %.3f, final scores %s",
+                name, getGamesPlayed(), getWinRate(), getWinRateLowerBound(Z_95), getWinRateUpperBound(Z_95),
+                getTurns() == 0 ? 0 : (double) getDraws() / getTurns(),
+                getTurns() == 0 ? 0 : (double) getEightsPlayed() / getTurns(), finalScores);
+    }
+
+}
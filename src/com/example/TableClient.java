@@ -0,0 +1,62 @@
+package com.example;
+
+/**
+ * Receives what a GameServer tells the player in one seat of a table, for players that are not run by the server.
+ *
+ * The server calls a client from the event loop of the table's shard, so a client must return quickly and must not
+ * block. It answers a turn by submitting a move to the server later, from any thread. Moves are encoded as in
+ * GameState: a card index or GameState.DRAW in the low 6 bits and the ordinal of a suit declared with an 8 above.
+ */
+public interface TableClient {
+
+    /**
+     * Called when the client was seated at a new table.
+     * @param tableId the id of the table.
+     * @param playerId the id of the client's player at that table.
+     * @param numPlayers the number of players at the table.
+     */
+    void onTableOpened(int tableId, int playerId, int numPlayers);
+
+    /**
+     * Called when a round is dealt.
+     * @param tableId the id of the table.
+     * @param playerId the id of the client's player.
+     * @param hand the mask of the cards dealt to the player, see Hand.
+     */
+    void onDeal(int tableId, int playerId, long hand);
+
+    /**
+     * Called when the player drew a card.
+     * @param tableId the id of the table.
+     * @param playerId the id of the client's player.
+     * @param card the drawn card.
+     */
+    void onCardDrawn(int tableId, int playerId, Card card);
+
+    /**
+     * Called when it is the player's turn, which waits until the client submitted a move.
+     * @param tableId the id of the table.
+     * @param playerId the id of the client's player.
+     * @param topCard the card on top of the discard pile.
+     * @param declaredSuit the suit declared with the 8 on top, null if none was declared.
+     */
+    void onTurn(int tableId, int playerId, Card topCard, Card.Suit declaredSuit);
+
+    /**
+     * Called when the server did not take a move, because it was not the player's turn or broke the rules.
+     * The turn still waits for a move.
+     * @param tableId the id of the table.
+     * @param playerId the id of the client's player.
+     * @param move the move that was rejected.
+     */
+    void onMoveRejected(int tableId, int playerId, int move);
+
+    /**
+     * Called when the game at the table ended, after which the table is closed.
+     * @param tableId the id of the table.
+     * @param playerId the id of the client's player.
+     * @param winnerId the id of the winner, 0 if the game was stopped.
+     */
+    void onGameOver(int tableId, int playerId, int winnerId);
+
+}
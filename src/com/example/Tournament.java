@@ -0,0 +1,185 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many independent headless Crazy 8 games spread over a ForkJoinPool.
+ * Every game gets its own seed derived from the tournament seed and its game number,
+ * so any single game can be replayed with new Crazy8Game(seatFactories, getGameSeed(n), sink).
+ * The strategies of every game are created fresh from the seat factories.
+ */
+public class Tournament {
+
+    /**
+     * Number of games a single task plays on its own before it stops splitting.
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    private final StrategyFactory[] seatFactories;
+    private final int numGames;
+    private final long seed;
+    private int numDecks = 1;
+    private boolean reshuffleDiscards;
+    private StatisticsAggregator statistics;
+    private String[] seatStrategyNames;
+    private Instrumentation instrumentation = Instrumentation.NOOP;
+
+    /**
+     * Creates a tournament between greedy players.
+     * @param numPlayers the number of players in each game.
+     * @param numGames the number of games to play.
+     * @param seed the seed all the game seeds are derived from.
+     */
+    public Tournament(int numPlayers, int numGames, long seed) {
+        this(greedySeats(numPlayers), numGames, seed);
+    }
+
+    /**
+     * Creates a tournament.
+     * @param seatFactories the factory of the strategy for each seat, seat 0 is player 1.
+     * @param numGames the number of games to play.
+     * @param seed the seed all the game seeds are derived from.
+     */
+    public Tournament(StrategyFactory[] seatFactories, int numGames, long seed) {
+
+        if (numGames < 0) {
+            throw new IllegalArgumentException("Negative number of games");
+        }
+
+        this.seatFactories = seatFactories.clone();
+        this.numGames = numGames;
+        this.seed = seed;
+
+    }
+
+    private static StrategyFactory[] greedySeats(int numPlayers) {
+        StrategyFactory[] seatFactories = new StrategyFactory[numPlayers];
+        Arrays.fill(seatFactories, (StrategyFactory) GreedyStrategy::new);
+        return seatFactories;
+    }
+
+    /**
+     * Sets the number of decks every game is played with, which has to be enough for the number of seats.
+     * @param numDecks from 1 to Card.MAX_DECKS, each deck is enough for Crazy8Game.MAX_PLAYERS_PER_DECK players.
+     */
+    public void setNumDecks(int numDecks) {
+
+        if (numDecks < 1 || numDecks > Card.MAX_DECKS) {
+            throw new IllegalArgumentException("Cannot play with " + numDecks + " decks");
+        }
+        this.numDecks = numDecks;
+
+    }
+
+    /**
+     * Turns the reshuffle rule on or off for every game, see Crazy8Game.setReshuffleDiscards.
+     * @param reshuffleDiscards true to shuffle the discards into a new draw pile when it runs out.
+     */
+    public void setReshuffleDiscards(boolean reshuffleDiscards) {
+        this.reshuffleDiscards = reshuffleDiscards;
+    }
+
+    /**
+     * Reports the phase timings and counts of every game to an instrumentation shared by all games.
+     * @param instrumentation the instrumentation, Instrumentation.NOOP for none.
+     */
+    public void setInstrumentation(Instrumentation instrumentation) {
+
+        if (instrumentation == null) {
+            throw new IllegalArgumentException("Use Instrumentation.NOOP instead of null");
+        }
+        this.instrumentation = instrumentation;
+
+    }
+
+    /**
+     * Reports every game to a statistics aggregator.
+     * @param statistics the aggregator, or null for none.
+     * @param seatStrategyNames the name the strategy of each seat is counted under.
+     */
+    public void setStatistics(StatisticsAggregator statistics, String... seatStrategyNames) {
+
+        if (statistics != null && seatStrategyNames.length != seatFactories.length) {
+            throw new IllegalArgumentException(seatStrategyNames.length + " names for " + seatFactories.length
+                    + " seats");
+        }
+
+        this.statistics = statistics;
+        this.seatStrategyNames = seatStrategyNames.clone();
+
+    }
+
+    /**
+     * Gets the seed of one game in this tournament.
+     * Uses the SplitMix64 finalizer so neighbouring game numbers get unrelated seeds.
+     * @param gameNum the number of the game, from 0 to numGames - 1.
+     * @return the seed for that game.
+     */
+    public long getGameSeed(int gameNum) {
+        long z = seed + (gameNum + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays every game of the tournament on the common ForkJoinPool.
+     * @return the merged statistics of all games.
+     */
+    public TournamentResult run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays every game of the tournament on the given pool.
+     * @param pool the pool the games are played on.
+     * @return the merged statistics of all games.
+     */
+    public TournamentResult run(ForkJoinPool pool) {
+        return pool.invoke(new GameRangeTask(0, numGames));
+    }
+
+    /**
+     * Plays a range of games, splitting it in half until it is small enough to play directly.
+     * Each task fills its own result, results are only merged when tasks join.
+     */
+    private class GameRangeTask extends RecursiveTask<TournamentResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int firstGame;
+        private final int endGame;
+
+        GameRangeTask(int firstGame, int endGame) {
+            this.firstGame = firstGame;
+            this.endGame = endGame;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+
+            if (endGame - firstGame > GAMES_PER_TASK) {
+                int middle = (firstGame + endGame) >>> 1;
+                GameRangeTask secondHalf = new GameRangeTask(middle, endGame);
+                secondHalf.fork();
+                TournamentResult result = new GameRangeTask(firstGame, middle).compute();
+                result.merge(secondHalf.join());
+                return result;
+            }
+
+            TournamentResult result = new TournamentResult(seatFactories.length);
+            GameEventSink sink = statistics == null ? GameEventSink.SILENT : statistics.newRecorder(seatStrategyNames);
+            for (int gameNum = firstGame; gameNum < endGame; gameNum++) {
+                Crazy8Game game = new Crazy8Game(seatFactories, numDecks, getGameSeed(gameNum), sink,
+                        instrumentation);
+                game.setReshuffleDiscards(reshuffleDiscards);
+                result.addGame(game, game.playGame());
+            }
+            return result;
+
+        }
+    }
+
+}
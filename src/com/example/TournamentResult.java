@@ -0,0 +1,192 @@
+package com.example;
+
+/**
+ * Win, score and round length statistics over a set of games with the same number of players.
+ * A result is filled by a single thread and merged with the results of other threads afterwards.
+ */
+public class TournamentResult {
+
+    private final long[] wins;
+    private final long[] totalScores;
+    private long gamesPlayed;
+    private long gamesStopped;
+    private long roundsPlayed;
+    private long turnsPlayed;
+    private int shortestGameRounds = Integer.MAX_VALUE;
+    private int longestGameRounds;
+
+    /**
+     * Creates empty statistics.
+     * @param numPlayers the number of players in each game.
+     */
+    public TournamentResult(int numPlayers) {
+        this.wins = new long[numPlayers];
+        this.totalScores = new long[numPlayers];
+    }
+
+    /**
+     * Adds a finished game to the statistics.
+     * @param game the game that was played.
+     * @param winner the winner returned by playGame, null if the game was stopped.
+     */
+    public void addGame(Crazy8Game game, Crazy8Game.Player winner) {
+
+        gamesPlayed++;
+        addRounds(game.getRoundsPlayed(), game.getTurnsPlayed());
+
+        if (winner == null) {
+            gamesStopped++;
+            return;
+        }
+
+        wins[winner.getPlayerId() - 1]++;
+        for (Crazy8Game.Player player : game.getPlayers()) {
+            totalScores[player.getPlayerId() - 1] += player.getPlayerScore();
+        }
+
+    }
+
+    /**
+     * Adds a game that was played somewhere else, such as in a worker process.
+     * @param roundsPlayed the number of rounds of the game.
+     * @param turnsPlayed the number of turns of the game.
+     * @param winnerId the id of the winner, 0 if the game was stopped.
+     * @param scores the final score of each player, player 1 first, ignored for a stopped game.
+     */
+    public void addGame(int roundsPlayed, long turnsPlayed, int winnerId, int[] scores) {
+
+        gamesPlayed++;
+        addRounds(roundsPlayed, turnsPlayed);
+
+        if (winnerId == 0) {
+            gamesStopped++;
+            return;
+        }
+
+        wins[winnerId - 1]++;
+        for (int seat = 0; seat < wins.length; seat++) {
+            totalScores[seat] += scores[seat];
+        }
+
+    }
+
+    private void addRounds(int rounds, long turns) {
+        roundsPlayed += rounds;
+        turnsPlayed += turns;
+        shortestGameRounds = Math.min(shortestGameRounds, rounds);
+        longestGameRounds = Math.max(longestGameRounds, rounds);
+    }
+
+    /**
+     * Adds all the games of another result to this one.
+     * @param other the result to merge into this one.
+     */
+    public void merge(TournamentResult other) {
+
+        for (int seat = 0; seat < wins.length; seat++) {
+            wins[seat] += other.wins[seat];
+            totalScores[seat] += other.totalScores[seat];
+        }
+        gamesPlayed += other.gamesPlayed;
+        gamesStopped += other.gamesStopped;
+        roundsPlayed += other.roundsPlayed;
+        turnsPlayed += other.turnsPlayed;
+        shortestGameRounds = Math.min(shortestGameRounds, other.shortestGameRounds);
+        longestGameRounds = Math.max(longestGameRounds, other.longestGameRounds);
+
+    }
+
+    /**
+     * Gets the number of games a player won.
+     * @param playerId the id of the player. Ex: 1 is player 1.
+     * @return the number of wins.
+     */
+    public long getWins(int playerId) {
+        return wins[playerId - 1];
+    }
+
+    /**
+     * Gets the average final score of a player over the games that were not stopped.
+     * @param playerId the id of the player. Ex: 1 is player 1.
+     * @return the average score.
+     */
+    public double getAverageScore(int playerId) {
+        long finishedGames = gamesPlayed - gamesStopped;
+        return finishedGames == 0 ? 0 : (double) totalScores[playerId - 1] / finishedGames;
+    }
+
+    /**
+     * Gets the number of games played.
+     * @return the number of games played, including stopped games.
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games stopped because someone cheated.
+     * @return the number of stopped games.
+     */
+    public long getGamesStopped() {
+        return gamesStopped;
+    }
+
+    /**
+     * Gets the number of rounds played over all games.
+     * @return the number of rounds played.
+     */
+    public long getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * Gets the number of turns played over all games.
+     * @return the number of turns played.
+     */
+    public long getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    /**
+     * Gets the average number of turns in a round.
+     * @return turns per round.
+     */
+    public double getAverageRoundLength() {
+        return roundsPlayed == 0 ? 0 : (double) turnsPlayed / roundsPlayed;
+    }
+
+    /**
+     * Gets the number of rounds in the shortest game.
+     * @return the fewest rounds any game took.
+     */
+    public int getShortestGameRounds() {
+        return gamesPlayed == 0 ? 0 : shortestGameRounds;
+    }
+
+    /**
+     * Gets the number of rounds in the longest game.
+     * @return the most rounds any game took.
+     */
+    public int getLongestGameRounds() {
+        return longestGameRounds;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("Games played: ").append(gamesPlayed)
+                .append(" (").append(gamesStopped).append(" stopped for cheating)\n");
+        builder.append("Rounds per game: ").append(getShortestGameRounds()).append(" to ")
+                .append(getLongestGameRounds()).append(", turns per round: ")
+                .append(String.format("%.2f", getAverageRoundLength())).append('\n');
+        for (int playerId = 1; playerId <= wins.length; playerId++) {
+            builder.append("Player ").append(playerId).append(" won ").append(getWins(playerId))
+                    .append(" games, average score ").append(String.format("%.1f", getAverageScore(playerId)))
+                    .append('\n');
+        }
+        return builder.toString();
+
+    }
+
+}
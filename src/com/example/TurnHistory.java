@@ -0,0 +1,245 @@
+package com.example;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The most recent turns of a round, kept in a fixed ring of preallocated PlayerTurn slots.
+ *
+ * Recording a turn overwrites the oldest slot instead of allocating, so a PlayerTurn returned by
+ * this history is only valid until capacity more turns were recorded. Copy it to keep it longer,
+ * or turn on the full history, which keeps a copy of every turn since the last clear.
+ */
+public class TurnHistory {
+
+    private final PlayerTurn[] slots;
+    private final int indexMask;
+    private long totalRecorded;
+    private List<PlayerTurn> fullHistory;
+    private final List<PlayerTurn> view = new ListView();
+
+    /**
+     * Creates an empty history.
+     * @param capacity the minimum number of recent turns to keep, rounded up to a power of two.
+     */
+    public TurnHistory(int capacity) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        slots = new PlayerTurn[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new PlayerTurn();
+        }
+        indexMask = size - 1;
+
+    }
+
+    /**
+     * Records a turn in the next slot.
+     * @param playerId the id of the player that took the turn.
+     * @param drewACard whether the player drew a card.
+     * @param playedCard the card the player placed, or null.
+     * @param declaredSuit the suit declared with an 8, or null.
+     * @return the slot holding the turn.
+     */
+    public PlayerTurn record(int playerId, boolean drewACard, Card playedCard, Card.Suit declaredSuit) {
+
+        PlayerTurn slot = slots[(int) (totalRecorded++ & indexMask)];
+        slot.playerId = playerId;
+        slot.drewACard = drewACard;
+        slot.playedCard = playedCard;
+        slot.declaredSuit = declaredSuit;
+
+        if (fullHistory != null) {
+            fullHistory.add(copyOf(slot));
+        }
+
+        return slot;
+
+    }
+
+    /**
+     * Gets one of the most recent turns.
+     * @param turnsAgo 0 for the latest turn, 1 for the one before it, and so on.
+     * @return the turn, or null if it was not recorded or is no longer kept.
+     */
+    public PlayerTurn getLast(int turnsAgo) {
+
+        if (turnsAgo < 0 || turnsAgo >= size()) {
+            return null;
+        }
+        return slots[(int) ((totalRecorded - 1 - turnsAgo) & indexMask)];
+
+    }
+
+    /**
+     * Gets the number of turns currently kept.
+     * @return at most the capacity of the history.
+     */
+    public int size() {
+        return (int) Math.min(totalRecorded, slots.length);
+    }
+
+    /**
+     * Gets the number of slots in the ring.
+     * @return the capacity of the history.
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the number of turns recorded since the last clear, including the ones no longer kept.
+     * @return the total number of recorded turns.
+     */
+    public long getTotalRecorded() {
+        return totalRecorded;
+    }
+
+    /**
+     * Forgets every turn, the slots are kept for reuse.
+     */
+    public void clear() {
+
+        totalRecorded = 0;
+        if (fullHistory != null) {
+            fullHistory.clear();
+        }
+
+    }
+
+    /**
+     * Turns the full history on or off. When on, a copy of every recorded turn is kept.
+     * @param keepFullHistory true to keep every turn from now on.
+     */
+    public void setKeepFullHistory(boolean keepFullHistory) {
+        fullHistory = keepFullHistory ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Gets every turn recorded since the full history was turned on or the history was cleared.
+     * @return a read-only list of copies, empty if the full history is off.
+     */
+    public List<PlayerTurn> getFullHistory() {
+        return fullHistory == null ? Collections.<PlayerTurn>emptyList() : Collections.unmodifiableList(fullHistory);
+    }
+
+    /**
+     * Gets a kept turn by its number.
+     * @param turnNumber the number of the turn since the last clear, starting at 0.
+     * @return the turn.
+     */
+    public PlayerTurn get(long turnNumber) {
+
+        if (turnNumber < totalRecorded - size() || turnNumber >= totalRecorded) {
+            throw new IndexOutOfBoundsException("Turn " + turnNumber + " is not kept, "
+                    + size() + " of " + totalRecorded + " turns are");
+        }
+        return slots[(int) (turnNumber & indexMask)];
+
+    }
+
+    /**
+     * Creates a view over a range of turns that can be moved without allocating.
+     * @return a new, empty range view.
+     */
+    public RangeView newRangeView() {
+        return new RangeView();
+    }
+
+    /**
+     * Gets a read-only view of the turns currently kept, oldest first.
+     * The view follows the history as turns are recorded.
+     * @return the kept turns.
+     */
+    public List<PlayerTurn> asList() {
+        return view;
+    }
+
+    private static PlayerTurn copyOf(PlayerTurn turn) {
+
+        PlayerTurn copy = new PlayerTurn();
+        copy.playerId = turn.playerId;
+        copy.drewACard = turn.drewACard;
+        copy.playedCard = turn.playedCard;
+        copy.declaredSuit = turn.declaredSuit;
+        return copy;
+
+    }
+
+    /**
+     * Read-only List over a range of turns in the history, by turn number.
+     * The view does not copy turns, so it is only valid until the ring reuses the slots in its range.
+     */
+    public class RangeView extends AbstractList<PlayerTurn> {
+
+        private long firstTurn;
+        private int length;
+
+        private RangeView() {
+        }
+
+        /**
+         * Moves the view to a range of turns, all of which must still be kept.
+         * @param firstTurn the number of the first turn in the view.
+         * @param endTurn the number of the turn after the last one in the view.
+         */
+        public void setRange(long firstTurn, long endTurn) {
+
+            if (endTurn > totalRecorded || firstTurn < totalRecorded - TurnHistory.this.size() || firstTurn > endTurn) {
+                throw new IllegalStateException("Turns " + firstTurn + " to " + endTurn + " are not kept, "
+                        + TurnHistory.this.size() + " of " + totalRecorded + " turns are");
+            }
+
+            this.firstTurn = firstTurn;
+            this.length = (int) (endTurn - firstTurn);
+
+        }
+
+        @Override
+        public PlayerTurn get(int position) {
+
+            if (position < 0 || position >= length) {
+                throw new IndexOutOfBoundsException("Position " + position + " in a range of " + length);
+            }
+            return slots[(int) ((firstTurn + position) & indexMask)];
+
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+
+    /**
+     * Read-only List over the kept turns, oldest first.
+     */
+    private class ListView extends AbstractList<PlayerTurn> {
+
+        @Override
+        public PlayerTurn get(int position) {
+
+            if (position < 0 || position >= size()) {
+                throw new IndexOutOfBoundsException("Position " + position + " in a history of " + size());
+            }
+            return getLast(size() - 1 - position);
+
+        }
+
+        @Override
+        public int size() {
+            return TurnHistory.this.size();
+        }
+    }
+
+}
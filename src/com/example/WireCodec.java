@@ -0,0 +1,454 @@
+package com.example;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The compact binary encoding of turns, deals, round results and seat changes for sending games between processes.
+ *
+ * Values are put into and taken from a ByteBuffer the caller owns and reuses, at its position, and nothing is
+ * allocated on either side: decoded cards are the Card flyweights and decoded turns and deltas overwrite an object
+ * the caller passes in. Numbers are LEB128 varints, 7 bits per byte with the high bit set on every byte but the last,
+ * and signed numbers are zigzag encoded first so small negative numbers stay short. A card is its 6 bit index, with
+ * NO_CARD for none. A single card or move takes one byte, a move in the encoding of GameState, and a set of cards is
+ * its size followed by the 6 bit indices packed 4 to 3 bytes, in card index order. On a stream, values travel in
+ * frames of a one byte length and a body of at most MAX_FRAME_SIZE bytes that starts with a one byte type.
+ *
+ * Sets of cards are card masks (see Hand), so they cannot hold the copies of a game of several decks.
+ * Running out of bytes throws the BufferUnderflowException or BufferOverflowException of the buffer, and bytes that
+ * are not a valid encoding throw IllegalArgumentException.
+ */
+public final class WireCodec {
+
+    /**
+     * The code of no card.
+     */
+    public static final int NO_CARD = 63;
+
+    /**
+     * The longest encoding of a varint of an int.
+     */
+    public static final int MAX_VARINT_SIZE = 5;
+
+    /**
+     * The longest encoding of a varint of a long.
+     */
+    public static final int MAX_VARLONG_SIZE = 10;
+
+    /**
+     * The largest body of a frame.
+     */
+    public static final int MAX_FRAME_SIZE = 255;
+
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    private WireCodec() {
+    }
+
+    /**
+     * Puts an int as an unsigned varint, so negative numbers take the full 5 bytes.
+     * @param out the buffer to write.
+     * @param value the number.
+     */
+    public static void putVarint(ByteBuffer out, int value) {
+
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+
+    }
+
+    /**
+     * Gets an int written by putVarint.
+     * @param in the buffer to read.
+     * @return the number.
+     */
+    public static int getVarint(ByteBuffer in) {
+
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("A varint is longer than " + MAX_VARINT_SIZE + " bytes");
+
+    }
+
+    /**
+     * Puts a long as an unsigned varint.
+     * @param out the buffer to write.
+     * @param value the number.
+     */
+    public static void putVarlong(ByteBuffer out, long value) {
+
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+
+    }
+
+    /**
+     * Gets a long written by putVarlong.
+     * @param in the buffer to read.
+     * @return the number.
+     */
+    public static long getVarlong(ByteBuffer in) {
+
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("A varlong is longer than " + MAX_VARLONG_SIZE + " bytes");
+
+    }
+
+    /**
+     * Puts an int as a zigzag encoded varint, which keeps numbers near 0 of either sign short.
+     * @param out the buffer to write.
+     * @param value the number.
+     */
+    public static void putSignedVarint(ByteBuffer out, int value) {
+        putVarint(out, value << 1 ^ value >> 31);
+    }
+
+    /**
+     * Gets an int written by putSignedVarint.
+     * @param in the buffer to read.
+     * @return the number.
+     */
+    public static int getSignedVarint(ByteBuffer in) {
+        int zigzag = getVarint(in);
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+
+    /**
+     * Puts a long as a zigzag encoded varlong.
+     * @param out the buffer to write.
+     * @param value the number.
+     */
+    public static void putSignedVarlong(ByteBuffer out, long value) {
+        putVarlong(out, value << 1 ^ value >> 63);
+    }
+
+    /**
+     * Gets a long written by putSignedVarlong.
+     * @param in the buffer to read.
+     * @return the number.
+     */
+    public static long getSignedVarlong(ByteBuffer in) {
+        long zigzag = getVarlong(in);
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+
+    /**
+     * Puts a card as one byte.
+     * @param out the buffer to write.
+     * @param card the card, or null for none.
+     */
+    public static void putCard(ByteBuffer out, Card card) {
+        out.put((byte) (card == null ? NO_CARD : card.getIndex()));
+    }
+
+    /**
+     * Gets a card written by putCard.
+     * @param in the buffer to read.
+     * @return the card, or null for none.
+     */
+    public static Card getCard(ByteBuffer in) {
+
+        int code = in.get() & 0xFF;
+        return code == NO_CARD ? null : Card.of(checkCard(code));
+
+    }
+
+    private static int checkCard(int code) {
+
+        if (code >= Card.DECK_SIZE) {
+            throw new IllegalArgumentException(code + " is not the code of a card");
+        }
+        return code;
+
+    }
+
+    /**
+     * Puts a move in the encoding of GameState as one byte.
+     * @param out the buffer to write.
+     * @param move the move.
+     */
+    public static void putMove(ByteBuffer out, int move) {
+        out.put((byte) move);
+    }
+
+    /**
+     * Gets a move written by putMove.
+     * @param in the buffer to read.
+     * @return the move in the encoding of GameState.
+     */
+    public static int getMove(ByteBuffer in) {
+
+        int move = in.get() & 0xFF;
+        if (!GameState.isDraw(move)) {
+            checkCard(GameState.cardOf(move));
+        }
+        return move;
+
+    }
+
+    /**
+     * Puts a turn as the varint of the player's id and the move. An 8 placed without a declared suit is written
+     * with the first suit, as a turn that breaks the rules ends the game anyway.
+     * @param out the buffer to write.
+     * @param turn the turn.
+     */
+    public static void putTurn(ByteBuffer out, PlayerTurn turn) {
+
+        putVarint(out, turn.playerId);
+        if (turn.drewACard || turn.playedCard == null) {
+            putMove(out, GameState.DRAW);
+        } else {
+            int suit = turn.declaredSuit == null ? 0 : turn.declaredSuit.ordinal();
+            putMove(out, GameState.playMove(turn.playedCard.getIndex(), suit));
+        }
+
+    }
+
+    /**
+     * Gets a turn written by putTurn.
+     * @param in the buffer to read.
+     * @param turn the turn to overwrite.
+     */
+    public static void getTurn(ByteBuffer in, PlayerTurn turn) {
+
+        turn.playerId = getVarint(in);
+        int move = getMove(in);
+        turn.drewACard = GameState.isDraw(move);
+        if (turn.drewACard) {
+            turn.playedCard = null;
+            turn.declaredSuit = null;
+        } else {
+            turn.playedCard = Card.of(GameState.cardOf(move));
+            turn.declaredSuit = turn.playedCard.getRank() == Card.Rank.EIGHT
+                    ? SUITS[GameState.declaredSuitOf(move)] : null;
+        }
+
+    }
+
+    /**
+     * Puts a set of cards, such as a dealt hand, as its size and the packed 6 bit codes of its cards.
+     * @param out the buffer to write.
+     * @param cards the card mask of the set.
+     */
+    public static void putCards(ByteBuffer out, long cards) {
+
+        putVarint(out, Long.bitCount(cards));
+        long bits = 0;
+        int numBits = 0;
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            bits |= (long) Long.numberOfTrailingZeros(rest) << numBits;
+            numBits += 6;
+            if (numBits >= Byte.SIZE) {
+                out.put((byte) bits);
+                bits >>>= Byte.SIZE;
+                numBits -= Byte.SIZE;
+            }
+        }
+        if (numBits > 0) {
+            out.put((byte) bits);
+        }
+
+    }
+
+    /**
+     * Gets a set of cards written by putCards.
+     * @param in the buffer to read.
+     * @return the card mask of the set.
+     */
+    public static long getCards(ByteBuffer in) {
+
+        int size = getVarint(in);
+        if (size < 0 || size > Card.DECK_SIZE) {
+            throw new IllegalArgumentException("A set of " + size + " cards is not one deck");
+        }
+
+        long cards = 0;
+        long bits = 0;
+        int numBits = 0;
+        for (int i = 0; i < size; i++) {
+            if (numBits < 6) {
+                bits |= (long) (in.get() & 0xFF) << numBits;
+                numBits += Byte.SIZE;
+            }
+            cards |= 1L << checkCard((int) (bits & 63));
+            bits >>>= 6;
+            numBits -= 6;
+        }
+        return cards;
+
+    }
+
+    /**
+     * Puts the result of a round as the varint of the winner's id and the zigzag varints of every score.
+     * @param out the buffer to write.
+     * @param winnerId the id of the round winner, 0 for a tie.
+     * @param scores the score of each player after the round, player 1 first.
+     * @param numPlayers the number of players.
+     */
+    public static void putRoundResult(ByteBuffer out, int winnerId, int[] scores, int numPlayers) {
+
+        putVarint(out, winnerId);
+        putVarint(out, numPlayers);
+        for (int player = 0; player < numPlayers; player++) {
+            putSignedVarint(out, scores[player]);
+        }
+
+    }
+
+    /**
+     * Gets a round result written by putRoundResult.
+     * @param in the buffer to read.
+     * @param scores the array the scores are written to, player 1 first.
+     * @return the id of the round winner, 0 for a tie. The number of scores is the number of players.
+     */
+    public static int getRoundResult(ByteBuffer in, int[] scores) {
+
+        int winnerId = getVarint(in);
+        int numPlayers = getVarint(in);
+        if (numPlayers < 0 || numPlayers > scores.length) {
+            throw new IllegalArgumentException("A round of " + numPlayers + " players does not fit "
+                    + scores.length + " scores");
+        }
+
+        for (int player = 0; player < numPlayers; player++) {
+            scores[player] = getSignedVarint(in);
+        }
+        return winnerId;
+
+    }
+
+    /**
+     * Puts how the state of one seat changed, for example over a turn or a round.
+     * @param out the buffer to write.
+     * @param delta the change.
+     */
+    public static void putSeatDelta(ByteBuffer out, SeatDelta delta) {
+
+        putVarint(out, delta.playerId);
+        putCards(out, delta.cardsAdded);
+        putCards(out, delta.cardsRemoved);
+        putSignedVarint(out, delta.scoreChange);
+
+    }
+
+    /**
+     * Gets a seat change written by putSeatDelta.
+     * @param in the buffer to read.
+     * @param delta the change to overwrite.
+     */
+    public static void getSeatDelta(ByteBuffer in, SeatDelta delta) {
+
+        delta.playerId = getVarint(in);
+        delta.cardsAdded = getCards(in);
+        delta.cardsRemoved = getCards(in);
+        delta.scoreChange = getSignedVarint(in);
+
+    }
+
+    /**
+     * Starts a frame in a buffer with room for its length.
+     * @param frame the buffer of MAX_FRAME_SIZE + 1 bytes.
+     * @param type the type of the frame.
+     * @return the buffer, positioned after the type.
+     */
+    public static ByteBuffer startFrame(ByteBuffer frame, int type) {
+        frame.clear();
+        return frame.put((byte) 0).put((byte) type);
+    }
+
+    /**
+     * Writes a frame started by startFrame with its length.
+     * @param frame the buffer holding the frame.
+     * @param out the stream to write.
+     * @throws IOException if the frame cannot be written.
+     */
+    public static void sendFrame(ByteBuffer frame, OutputStream out) throws IOException {
+        frame.put(0, (byte) (frame.position() - 1));
+        out.write(frame.array(), 0, frame.position());
+    }
+
+    /**
+     * Reads the next frame into a buffer.
+     * @param in the stream to read.
+     * @param frame the buffer of MAX_FRAME_SIZE bytes, left holding the body of the frame.
+     * @return false if the stream ended before a frame started.
+     * @throws IOException if the stream fails or ends inside a frame.
+     */
+    public static boolean readFrame(InputStream in, ByteBuffer frame) throws IOException {
+
+        int length = in.read();
+        if (length < 0) {
+            return false;
+        }
+
+        byte[] bytes = frame.array();
+        for (int read = 0; read < length; ) {
+            int count = in.read(bytes, read, length - read);
+            if (count < 0) {
+                throw new EOFException("The stream ended inside a frame");
+            }
+            read += count;
+        }
+        frame.clear().limit(length);
+        return true;
+
+    }
+
+    /**
+     * How the state of one seat changed: the cards that came into and left its hand, and its score.
+     */
+    public static class SeatDelta {
+
+        /**
+         * The id of the player in the seat.
+         */
+        public int playerId;
+
+        /**
+         * The card mask of the cards that came into the hand.
+         */
+        public long cardsAdded;
+
+        /**
+         * The card mask of the cards that left the hand.
+         */
+        public long cardsRemoved;
+
+        /**
+         * The points added to the score, negative if the score went down.
+         */
+        public int scoreChange;
+
+        /**
+         * Applies the change of cards to a hand.
+         * @param hand the card mask of the hand before the change.
+         * @return the card mask of the hand after the change.
+         */
+        public long apply(long hand) {
+            return (hand | cardsAdded) & ~cardsRemoved;
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package com.example;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import com.example.Card.Rank;
 import com.example.Card.Suit;
@@ -109,4 +110,32 @@ public class CardTest {
         assertEquals(13, numSpades);
         assertEquals(13, numClubs);
     }
+
+    @Test
+    public void deckUsesSharedCards() {
+        List<Card> otherDeck = Card.getDeck();
+        for (int i = 0; i < deck.size(); i++) {
+            assertSame(deck.get(i), otherDeck.get(i));
+        }
+    }
+
+    @Test
+    public void indexMatchesDeckPosition() {
+        for (int i = 0; i < deck.size(); i++) {
+            Card card = deck.get(i);
+            assertEquals(i, card.getIndex());
+            assertSame(card, Card.of(i));
+            assertSame(card, Card.of(card.getSuit(), card.getRank()));
+            assertEquals(card.getSuit(), Card.suitOf(i));
+            assertEquals(card.getRank(), Card.rankOf(i));
+            assertEquals(card.getPointValue(), Card.pointValueOf(i));
+        }
+    }
+
+    @Test
+    public void newCardEqualsSharedCard() {
+        Card card = new Card(Suit.CLUBS, Rank.QUEEN);
+        assertEquals(Card.of(Suit.CLUBS, Rank.QUEEN), card);
+        assertEquals(Card.of(Suit.CLUBS, Rank.QUEEN).hashCode(), card.hashCode());
+    }
 }
@@ -3,7 +3,11 @@ package com.example;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.Assert.*;
 
@@ -182,6 +186,93 @@ public class Crazy8GameTest {
 
     }
 
+    @Test
+    public void sameSeedDealsSameCards() {
+
+        Crazy8Game first = new Crazy8Game(4, 1234L, GameEventSink.SILENT);
+        Crazy8Game second = new Crazy8Game(4, first.getSeed(), GameEventSink.SILENT);
+
+        for (int playerId = 1; playerId <= 4; playerId++) {
+            List<Card> firstDeck = first.getPlayer(playerId).getCurrentDeck();
+            List<Card> secondDeck = second.getPlayer(playerId).getCurrentDeck();
+            for (int i = 0; i < firstDeck.size(); i++) {
+                assertEquals(firstDeck.get(i).getSuit(), secondDeck.get(i).getSuit());
+                assertEquals(firstDeck.get(i).getRank(), secondDeck.get(i).getRank());
+            }
+        }
+
+    }
+
+    @Test
+    public void strategiesFromRegistryPlayAGame() {
+
+        StrategyFactory[] seats = StrategyRegistry.withDefaults().getAll("greedy", "greedy", "greedy");
+        crazy8Game = new Crazy8Game(seats, 5L, GameEventSink.SILENT);
+
+        assertNotNull(crazy8Game.playGame());
+        assertTrue(crazy8Game.getPlayer(1).getStrategy() instanceof GreedyStrategy);
+
+    }
+
+    @Test
+    public void cardNotInHandStopsGame() {
+
+        PlayerStrategy cheater = new GreedyStrategy(new SplittableRandom(1)) {
+            @Override
+            public boolean shouldDrawCard(Card topPileCard, Card.Suit pileSuit) {
+                return false;
+            }
+
+            @Override
+            public Card playCard() {
+                //always an 8, which is never in a hand at the start of this game
+                return Card.of(Card.Suit.CLUBS, Card.Rank.EIGHT);
+            }
+        };
+        PlayerStrategy[] strategies = {cheater, new GreedyStrategy(new SplittableRandom(2))};
+
+        //seed with no 8 of clubs in player 1's first hand
+        for (long seed = 0; ; seed++) {
+            crazy8Game = new Crazy8Game(strategies, seed, GameEventSink.SILENT);
+            if (!crazy8Game.getPlayer(1).getCurrentDeck().contains(Card.of(Card.Suit.CLUBS, Card.Rank.EIGHT))) {
+                break;
+            }
+        }
+
+        assertNull(crazy8Game.playGame());
+        assertEquals(RuleViolation.Type.CARD_NOT_IN_HAND, crazy8Game.getRuleViolation().getType());
+        assertEquals(5, crazy8Game.getPlayer(1).getCurrentDeck().size());
+
+    }
+
+    @Test
+    public void opponentActionsSinceLastTurnAreDelivered() {
+
+        List<Integer> seenPlayerIds = new ArrayList<>();
+        PlayerStrategy watcher = new GreedyStrategy(new SplittableRandom(1)) {
+            @Override
+            public void processOpponentActions(List<PlayerTurn> opponentActions) {
+                for (PlayerTurn turn : opponentActions) {
+                    seenPlayerIds.add(turn.playerId);
+                }
+            }
+        };
+        PlayerStrategy[] strategies = {
+            new GreedyStrategy(new SplittableRandom(2)), watcher, new GreedyStrategy(new SplittableRandom(3))
+        };
+        crazy8Game = new Crazy8Game(strategies, 8L, GameEventSink.SILENT);
+
+        for (int round = 0; round < 2; round++) {
+            crazy8Game.getPlayer(1).playTurn();
+            crazy8Game.getPlayer(2).playTurn();
+            crazy8Game.getPlayer(3).playTurn();
+        }
+
+        //player 2 first sees player 1's turn, then the turns of player 3 and player 1
+        assertEquals(Arrays.asList(1, 3, 1), seenPlayerIds);
+
+    }
+
     @Test
     public void tooManyPlayersTest() throws AssertionError {
 
@@ -196,4 +287,171 @@ public class Crazy8GameTest {
 
     }
 
+    @Test
+    public void bigTablesPlayWithSeveralDecks() {
+
+        StrategyFactory[] seats = new StrategyFactory[Crazy8Game.MAX_PLAYERS];
+        Arrays.fill(seats, (StrategyFactory) GreedyStrategy::new);
+        Crazy8Game bigGame = new Crazy8Game(seats, Card.MAX_DECKS, 12L, GameEventSink.SILENT, Instrumentation.NOOP);
+
+        assertEquals(Card.MAX_DECKS * Card.DECK_SIZE - 5 * seats.length - 1, bigGame.getDrawPile().size());
+        for (Crazy8Game.Player player : bigGame.getPlayers()) {
+            assertEquals(5, player.getCurrentDeck().size());
+        }
+        assertNotNull(bigGame.playGame());
+        assertNull(bigGame.getRuleViolation());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void everyDeckIsEnoughForEightPlayers() {
+
+        StrategyFactory[] seats = new StrategyFactory[2 * Crazy8Game.MAX_PLAYERS_PER_DECK + 1];
+        Arrays.fill(seats, (StrategyFactory) GreedyStrategy::new);
+        new Crazy8Game(seats, 2, 1L, GameEventSink.SILENT, Instrumentation.NOOP);
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void gamesOfSeveralDecksHaveNoSnapshots() {
+
+        StrategyFactory[] seats = new StrategyFactory[12];
+        Arrays.fill(seats, (StrategyFactory) GreedyStrategy::new);
+        new Crazy8Game(seats, 2, 1L, GameEventSink.SILENT, Instrumentation.NOOP).snapshot();
+
+    }
+
+    @Test
+    public void pointTotalsFollowEveryTurn() {
+
+        crazy8Game.setReshuffleDiscards(true);
+        do {
+            int tablePoints = 0;
+            for (Crazy8Game.Player player : crazy8Game.getPlayers()) {
+                Hand hand = player.getCurrentDeck();
+                assertEquals(Hand.pointTotal(hand.getMask()), hand.getPointTotal());
+                tablePoints += hand.getPointTotal();
+            }
+            assertEquals(tablePoints, crazy8Game.getTablePoints());
+            assertEquals(tablePoints - crazy8Game.getPlayer(1).getCurrentDeck().getPointTotal(),
+                    crazy8Game.getPlayer(1).sumOfOtherPlayerCards());
+        } while (crazy8Game.playNextTurn());
+
+    }
+
+    @Test
+    public void discardsAreNotReshuffledByDefault() {
+
+        assertFalse(crazy8Game.isReshuffleDiscards());
+        crazy8Game.setDrawPile(new LinkedList<Card>());
+        assertTrue(crazy8Game.checkRoundEnded());
+
+    }
+
+    @Test
+    public void reshuffledDiscardsKeepTheRoundGoing() {
+
+        int[] reshuffles = new int[1];
+        GameEventSink sink = new GameEventSink() {
+            @Override
+            public void onDiscardsReshuffled(int numCards) {
+                reshuffles[0]++;
+            }
+        };
+
+        long legacyTurns = 0;
+        long reshuffleTurns = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            Crazy8Game legacy = new Crazy8Game(6, seed, GameEventSink.SILENT);
+            assertNotNull(legacy.playGame());
+            legacyTurns += legacy.getTurnsPlayed() / legacy.getRoundsPlayed();
+
+            Crazy8Game game = new Crazy8Game(6, seed, sink);
+            game.setReshuffleDiscards(true);
+            assertNotNull(game.playGame());
+            reshuffleTurns += game.getTurnsPlayed() / game.getRoundsPlayed();
+        }
+
+        assertTrue(reshuffles[0] > 0);
+        assertTrue(reshuffleTurns > legacyTurns);
+
+    }
+
+    @Test
+    public void restoredSnapshotReshufflesItsDiscards() {
+
+        int[] reshuffles = new int[1];
+        GameEventSink sink = new GameEventSink() {
+            @Override
+            public void onDiscardsReshuffled(int numCards) {
+                reshuffles[0]++;
+            }
+        };
+
+        Crazy8Game original = new Crazy8Game(4, 13L, GameEventSink.SILENT);
+        original.setReshuffleDiscards(true);
+        GameState state = original.snapshot();
+        //one card is left to draw, the rest of the draw pile goes under the top card
+        for (int position = state.drawTop + 1; position < state.drawEnd; position++) {
+            state.discards |= 1L << state.drawPile[position];
+        }
+        state.drawEnd = state.drawTop + 1;
+
+        Crazy8Game game = new Crazy8Game(4, 13L, sink);
+        game.restore(state);
+        assertTrue(game.isReshuffleDiscards());
+        assertEquals(Long.bitCount(state.getDiscards()) + 1, game.getDiscardPile().size());
+
+        //the first draw empties the draw pile, the round goes on and the next draw reshuffles
+        for (int turn = 0; turn < 100 && reshuffles[0] == 0; turn++) {
+            assertFalse(game.checkRoundEnded());
+            game.getPlayer(game.getNextPlayerId()).playTurn();
+        }
+        assertEquals(1, reshuffles[0]);
+        assertNull(game.getRuleViolation());
+
+    }
+
+    @Test
+    public void restoredRoundGoesOnFromThePlayerWhoseTurnItIs() {
+
+        Crazy8Game original = new Crazy8Game(4, 31L, GameEventSink.SILENT);
+        assertTrue(original.playNextTurn());
+        GameState state = original.snapshot();
+        assertEquals(1, state.getSeat());
+
+        Crazy8Game game = new Crazy8Game(4, 31L, GameEventSink.SILENT);
+        game.getTurnHistory().setKeepFullHistory(true);
+        game.restore(state);
+        game.playRound();
+
+        assertNull(game.getRuleViolation());
+        assertEquals(2, game.getTurnHistory().getFullHistory().get(0).playerId);
+        assertEquals(0, game.getRoundsPlayed());
+
+        Crazy8Game stepwise = new Crazy8Game(4, 31L, GameEventSink.SILENT);
+        stepwise.restore(state);
+        assertTrue(stepwise.playNextTurn());
+        assertEquals(0, stepwise.getRoundsPlayed());
+
+    }
+
+    @Test
+    public void turnByTurnPlaysTheSameGame() {
+
+        Crazy8Game whole = new Crazy8Game(5, 42L, GameEventSink.SILENT);
+        Crazy8Game stepwise = new Crazy8Game(5, 42L, GameEventSink.SILENT);
+
+        Crazy8Game.Player winner = whole.playGame();
+        while (stepwise.playNextTurn()) {
+            assertNull(stepwise.findWinner());
+        }
+
+        assertEquals(winner.getPlayerId(), stepwise.findWinner().getPlayerId());
+        assertEquals(whole.getTurnsPlayed(), stepwise.getTurnsPlayed());
+        assertEquals(whole.getRoundsPlayed(), stepwise.getRoundsPlayed());
+        assertFalse(stepwise.playNextTurn());
+
+    }
+
 }
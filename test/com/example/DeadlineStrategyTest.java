@@ -0,0 +1,152 @@
+package com.example;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class DeadlineStrategyTest {
+
+    /**
+     * A greedy strategy that hangs on its first playCard until it is interrupted.
+     */
+    private static class HangingStrategy extends GreedyStrategy {
+
+        private boolean hung;
+
+        HangingStrategy(SplittableRandom random) {
+            super(random);
+        }
+
+        @Override
+        public Card playCard() {
+
+            if (!hung) {
+                hung = true;
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+            }
+            return super.playCard();
+
+        }
+    }
+
+    @Test
+    public void guardedStrategiesInTimePlayTheSameGame() {
+
+        try (DecisionScheduler scheduler = new DecisionScheduler(10, TimeUnit.SECONDS)) {
+            StrategyFactory greedy = GreedyStrategy::new;
+            StrategyFactory[] plain = {greedy, greedy, greedy};
+            StrategyFactory[] guarded = {greedy, scheduler.guard(greedy), greedy};
+
+            Crazy8Game expected = new Crazy8Game(plain, 21L, GameEventSink.SILENT);
+            Crazy8Game actual = new Crazy8Game(guarded, 21L, GameEventSink.SILENT);
+
+            assertEquals(expected.playGame().getPlayerId(), actual.playGame().getPlayerId());
+            assertEquals(expected.getTurnsPlayed(), actual.getTurnsPlayed());
+            assertTrue(actual.getPlayer(2).getStrategy() instanceof DeadlineStrategy);
+            assertTrue(scheduler.getCalls() > 0);
+            assertEquals(0, scheduler.getOverruns());
+        }
+
+    }
+
+    @Test
+    public void hungStrategyGetsTheDefaultMove() {
+
+        try (DecisionScheduler scheduler = new DecisionScheduler(20, TimeUnit.MILLISECONDS)) {
+            StrategyFactory greedy = GreedyStrategy::new;
+            StrategyFactory[] seats = {greedy, scheduler.guard(HangingStrategy::new), greedy};
+
+            Crazy8Game game = new Crazy8Game(seats, 4L, GameEventSink.SILENT);
+            assertNotNull(game.playGame());
+            assertNull(game.getRuleViolation());
+
+            //a slow machine can overrun the short budget on calls that did not hang as well
+            DeadlineStrategy guarded = (DeadlineStrategy) game.getPlayer(2).getStrategy();
+            assertTrue(guarded.getOverruns() >= 1);
+            assertEquals(guarded.getOverruns(), scheduler.getOverruns());
+        }
+
+    }
+
+    @Test
+    public void abandonedStrategyIsAskedAgainNextRound() {
+
+        try (DecisionScheduler scheduler = new DecisionScheduler(20, TimeUnit.MILLISECONDS)) {
+            DeadlineStrategy strategy = new DeadlineStrategy(new HangingStrategy(new SplittableRandom(1)), scheduler);
+            strategy.init(1, Collections.singletonList(2));
+            strategy.receiveInitialCards(Arrays.asList(Card.of(0), Card.of(1)));
+
+            assertFalse(strategy.shouldDrawCard(Card.of(2), null));
+            //the default move is the first playable card
+            assertEquals(Card.of(0), strategy.playCard());
+            assertTrue(strategy.isAbandoned());
+            assertEquals(Card.of(1), strategy.playCard());
+
+            //the hung call was interrupted, so the strategy decides again after the next deal
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            do {
+                strategy.reset();
+            } while (strategy.isAbandoned() && System.nanoTime() < deadline);
+            assertFalse(strategy.isAbandoned());
+            assertTrue(strategy.getOverruns() >= 1);
+        }
+
+    }
+
+    /**
+     * A scheduler that never starts the calls it is given once it is stalled, like a pool whose threads are too slow
+     * to start.
+     */
+    private static class StallingScheduler extends DecisionScheduler {
+
+        private boolean stalled;
+
+        StallingScheduler() {
+            super(20, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        <T> Future<T> submit(Callable<T> call) {
+            return stalled ? new FutureTask<>(call) : super.submit(call);
+        }
+    }
+
+    @Test
+    public void callThatNeverStartedDoesNotBenchTheStrategy() {
+
+        try (StallingScheduler scheduler = new StallingScheduler()) {
+            DeadlineStrategy strategy = new DeadlineStrategy(new GreedyStrategy(new SplittableRandom(1)), scheduler);
+            strategy.init(1, Collections.singletonList(2));
+            strategy.receiveInitialCards(Arrays.asList(Card.of(0), Card.of(1)));
+
+            scheduler.stalled = true;
+            assertFalse(strategy.shouldDrawCard(Card.of(2), null));
+            assertTrue(strategy.isAbandoned());
+
+            //the call that overran never ran, so the strategy is asked again from the next round on
+            scheduler.stalled = false;
+            strategy.reset();
+            assertFalse(strategy.isAbandoned());
+            assertEquals(1, strategy.getOverruns());
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void budgetMustBePositive() {
+        new DecisionScheduler(0, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class DrawPileTest {
+
+    private DrawPile drawPile;
+
+    @Before
+    public void setUp() {
+        drawPile = new DrawPile();
+        drawPile.reset();
+    }
+
+    @Test
+    public void shuffleKeepsEveryCard() {
+
+        drawPile.shuffle(new SplittableRandom(3));
+
+        Set<Card> cards = new HashSet<>(drawPile.asList());
+        assertEquals(52, cards.size());
+
+    }
+
+    @Test
+    public void drawTakesTheTopCard() {
+
+        Card top = drawPile.peek();
+
+        assertSame(top, drawPile.draw());
+        assertEquals(51, drawPile.size());
+        assertFalse(drawPile.asList().contains(top));
+
+    }
+
+    @Test
+    public void dealRemovesCardsFromPile() {
+
+        List<Card> dealt = drawPile.deal(5);
+
+        assertEquals(5, dealt.size());
+        assertEquals(47, drawPile.asList().size());
+        assertEquals(Card.of(5), drawPile.peek());
+
+    }
+
+    @Test
+    public void emptyPile() {
+
+        drawPile.deal(52);
+
+        assertTrue(drawPile.isEmpty());
+        assertTrue(drawPile.asList().isEmpty());
+
+    }
+
+    @Test
+    public void severalDecksHoldEveryCardOncePerDeck() {
+
+        DrawPile twoDecks = new DrawPile(2);
+        twoDecks.reset();
+        twoDecks.shuffle(new SplittableRandom(5));
+
+        assertEquals(2 * Card.DECK_SIZE, twoDecks.size());
+        int[] copies = new int[Card.DECK_SIZE];
+        for (Card card : twoDecks.asList()) {
+            copies[card.getIndex()]++;
+        }
+        for (int index = 0; index < Card.DECK_SIZE; index++) {
+            assertEquals(2, copies[index]);
+        }
+        assertEquals(1, Card.deckOf(Card.idOf(1, 51)));
+        assertEquals(Card.of(51), Card.ofId(Card.idOf(1, 51)));
+
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewIsReadOnly() {
+        drawPile.asList().remove(0);
+    }
+
+    @Test
+    public void refillTakesTheDiscardsUnderTheTopCard() {
+
+        DiscardPile discardPile = new DiscardPile();
+        discardPile.add(drawPile.draw());
+        discardPile.add(drawPile.draw());
+        Card top = drawPile.draw();
+        discardPile.add(top);
+        drawPile.deal(drawPile.size());
+
+        assertEquals(2, drawPile.refillFrom(discardPile, new SplittableRandom(1)));
+        assertEquals(2, drawPile.size());
+        assertEquals(1, discardPile.size());
+        assertSame(top, discardPile.getTop());
+        assertFalse(drawPile.asList().contains(top));
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void onlyAnEmptyPileIsRefilled() {
+
+        DiscardPile discardPile = new DiscardPile();
+        discardPile.add(drawPile.draw());
+        drawPile.refillFrom(discardPile, new SplittableRandom(1));
+
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.example;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class GameLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Crazy8Game[] writeGames(Path log, int regionSize, int numGames) throws IOException {
+
+        Crazy8Game[] games = new Crazy8Game[numGames];
+        try (GameLogWriter writer = new GameLogWriter(log, regionSize)) {
+            for (int gameNum = 0; gameNum < numGames; gameNum++) {
+                games[gameNum] = new Crazy8Game(3 + gameNum % 3, 100L + gameNum, writer);
+                games[gameNum].playGame();
+            }
+        }
+        return games;
+
+    }
+
+    @Test
+    public void gamesReadBackAsWritten() throws IOException {
+
+        Path log = folder.newFile().toPath();
+        Crazy8Game[] games = writeGames(log, 1 << 20, 3);
+
+        try (GameLogReader reader = new GameLogReader(log)) {
+            for (Crazy8Game game : games) {
+                assertTrue(reader.nextGame());
+                assertEquals(game.getPlayers().length, reader.getNumPlayers());
+                assertEquals(game.getSeed(), reader.getSeed());
+                assertEquals(game.findWinner().getPlayerId(), reader.getWinnerId());
+
+                int rounds = 0;
+                int turns = 0;
+                while (reader.nextEvent()) {
+                    if (reader.getEventType() == GameLogReader.ROUND_STARTED) {
+                        rounds++;
+                    } else {
+                        turns++;
+                    }
+                }
+                assertEquals(game.getTurnsPlayed(), turns);
+                //the round dealt in the constructor is counted once it is played
+                assertEquals(game.getRoundsPlayed(), rounds);
+            }
+            assertFalse(reader.nextGame());
+        }
+
+    }
+
+    @Test
+    public void turnsFitInTwoBytes() throws IOException {
+
+        Path log = folder.newFile().toPath();
+        Crazy8Game game = writeGames(log, 1 << 20, 1)[0];
+
+        long expected = GameLogWriter.FILE_HEADER_SIZE + GameLogWriter.GAME_HEADER_SIZE
+                + 2L * (game.getTurnsPlayed() + game.getRoundsPlayed());
+        assertEquals(expected, Files.size(log));
+
+    }
+
+    @Test
+    public void smallRegionsAndWindowsGiveTheSameLog() throws IOException {
+
+        Path large = folder.newFile().toPath();
+        Path small = folder.newFile().toPath();
+        writeGames(large, 1 << 20, 4);
+        writeGames(small, 64, 4);
+
+        assertArrayEquals(Files.readAllBytes(large), Files.readAllBytes(small));
+
+        try (GameLogReader reader = new GameLogReader(small, 32)) {
+            int games = 0;
+            while (reader.nextGame()) {
+                while (reader.nextEvent()) {
+                    if (reader.getEventType() == GameLogReader.TURN) {
+                        assertTrue(reader.getPlayerId() <= reader.getNumPlayers());
+                    }
+                }
+                games++;
+            }
+            assertEquals(4, games);
+        }
+
+    }
+
+    @Test
+    public void seekToAGame() throws IOException {
+
+        Path log = folder.newFile().toPath();
+        writeGames(log, 1 << 20, 3);
+
+        try (GameLogReader reader = new GameLogReader(log)) {
+            reader.nextGame();
+            reader.nextGame();
+            long secondGame = reader.getGameOffset();
+            reader.nextGame();
+
+            reader.seekGame(secondGame);
+            assertTrue(reader.nextGame());
+            assertEquals(101L, reader.getSeed());
+        }
+
+    }
+
+    @Test
+    public void turnsMatchTheGame() throws IOException {
+
+        Path log = folder.newFile().toPath();
+        Crazy8Game game;
+        try (GameLogWriter writer = new GameLogWriter(log)) {
+            game = new Crazy8Game(4, 9L, writer);
+            game.getTurnHistory().setKeepFullHistory(true);
+            game.playRound();
+        }
+
+        PlayerTurn turn = new PlayerTurn();
+        try (GameLogReader reader = new GameLogReader(log)) {
+            assertTrue(reader.nextGame());
+            assertEquals(0, reader.getWinnerId());
+            assertTrue(reader.nextEvent());
+            assertEquals(GameLogReader.ROUND_STARTED, reader.getEventType());
+
+            for (PlayerTurn expected : game.getTurnHistory().getFullHistory()) {
+                assertTrue(reader.nextEvent());
+                reader.readTurn(turn);
+                assertEquals(expected.playerId, turn.playerId);
+                assertEquals(expected.drewACard, turn.drewACard);
+                assertEquals(expected.playedCard, turn.playedCard);
+                assertEquals(expected.declaredSuit, turn.declaredSuit);
+            }
+            assertFalse(reader.nextEvent());
+        }
+
+    }
+
+    @Test
+    public void logOfAWriterThatWasNeverClosedReadsUpToItsLastGame() throws IOException {
+
+        Path log = folder.newFile().toPath();
+        GameLogWriter writer = new GameLogWriter(log, 4096);
+        try {
+            for (long seed = 0; seed < 2; seed++) {
+                new Crazy8Game(3, seed, writer).playGame();
+            }
+            assertTrue(Files.size(log) > writer.getPosition());
+
+            try (GameLogReader reader = new GameLogReader(log)) {
+                assertTrue(reader.nextGame());
+                assertTrue(reader.nextGame());
+                assertEquals(1L, reader.getSeed());
+                assertFalse(reader.nextGame());
+            }
+        } finally {
+            writer.close();
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void multiDeckGamesAreRejected() throws IOException {
+
+        try (GameLogWriter writer = new GameLogWriter(folder.newFile().toPath())) {
+            StrategyFactory greedy = GreedyStrategy::new;
+            new Crazy8Game(new StrategyFactory[] {greedy, greedy, greedy}, 2, 5L, writer, Instrumentation.NOOP);
+        }
+
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+
+        Path other = folder.newFile().toPath();
+        Files.write(other, new byte[] {1, 2, 3, 4, 5, 6});
+        new GameLogReader(other).close();
+
+    }
+
+}
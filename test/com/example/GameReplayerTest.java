@@ -0,0 +1,121 @@
+package com.example;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GameReplayerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void assertSameState(GameState expected, GameState actual) {
+
+        for (int seat = 0; seat < expected.getNumSeats(); seat++) {
+            assertEquals(expected.getHand(seat), actual.getHand(seat));
+            assertEquals(expected.getScore(seat), actual.getScore(seat));
+        }
+        assertEquals(expected.getDrawPileSize(), actual.getDrawPileSize());
+        for (int position = 0; position < expected.getDrawPileSize(); position++) {
+            assertEquals(expected.getDrawPileCard(position), actual.getDrawPileCard(position));
+        }
+        assertEquals(expected.getTopCard(), actual.getTopCard());
+        assertEquals(expected.getPileSuit(), actual.getPileSuit());
+        assertEquals(expected.getSeat(), actual.getSeat());
+
+    }
+
+    private GameReplayer replayLoggedGame(int numPlayers, long seed, int checkpointInterval) throws IOException {
+
+        Path log = folder.newFile().toPath();
+        try (GameLogWriter writer = new GameLogWriter(log)) {
+            new Crazy8Game(numPlayers, seed, writer).playGame();
+        }
+
+        try (GameLogReader reader = new GameLogReader(log)) {
+            assertTrue(reader.nextGame());
+            return GameReplayer.fromLog(reader, checkpointInterval);
+        }
+
+    }
+
+    @Test
+    public void everyTurnMatchesTheOriginalGame() throws IOException {
+
+        GameReplayer replayer = replayLoggedGame(4, 31L, 16);
+        Crazy8Game original = new Crazy8Game(4, 31L, GameEventSink.SILENT);
+
+        for (int turn = 0; turn <= replayer.getNumTurns(); turn++) {
+            assertSameState(original.snapshot(), replayer.stateAt(turn));
+            if (turn < replayer.getNumTurns()) {
+                original.playNextTurn();
+            }
+        }
+        assertEquals(original.getTurnsPlayed(), replayer.getNumTurns());
+
+    }
+
+    @Test
+    public void checkpointsAreSparse() throws IOException {
+
+        GameReplayer replayer = replayLoggedGame(3, 5L, 64);
+        Crazy8Game original = new Crazy8Game(3, 5L, GameEventSink.SILENT);
+        original.playGame();
+
+        //one per deal plus one every 64 turns
+        assertTrue(replayer.getNumCheckpoints() <= original.getRoundsPlayed() + replayer.getNumTurns() / 64 + 1);
+
+    }
+
+    @Test
+    public void restoredGameCanBePlayedOn() throws IOException {
+
+        GameReplayer replayer = replayLoggedGame(5, 77L, 8);
+        int turn = replayer.getNumTurns() / 2;
+
+        StrategyFactory[] seats = StrategyRegistry.withDefaults().getAll("greedy", "greedy", "greedy", "greedy", "greedy");
+        Crazy8Game game = replayer.gameAt(turn, seats);
+        assertSameState(replayer.stateAt(turn), game.snapshot());
+
+        while (game.playNextTurn()) {
+            assertNull(game.getRuleViolation());
+        }
+        assertNull(game.getRuleViolation());
+        assertNotNull(game.findWinner());
+
+    }
+
+    @Test
+    public void replaysEveryGameOfALog() throws IOException {
+
+        Path log = folder.newFile().toPath();
+        try (GameLogWriter writer = new GameLogWriter(log)) {
+            for (long seed = 0; seed < 5; seed++) {
+                new Crazy8Game(3, seed, writer).playGame();
+            }
+        }
+
+        try (GameLogReader reader = new GameLogReader(log)) {
+            List<GameReplayer> replayers = GameReplayer.replayAll(reader, 32);
+            assertEquals(5, replayers.size());
+            assertEquals(4L, replayers.get(4).getSeed());
+        }
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void logThatDoesNotMatchTheSeedIsRejected() throws IOException {
+
+        GameReplayer replayer = replayLoggedGame(4, 12L, 16);
+        int[] moves = new int[replayer.getNumTurns()];
+        new GameReplayer(4, 13L, moves, null, 16);
+
+    }
+
+}
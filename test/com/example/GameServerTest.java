@@ -0,0 +1,280 @@
+package com.example;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class GameServerTest {
+
+    /**
+     * A strategy client that counts down a latch for every game over and remembers the winners.
+     */
+    private static class CountingClient extends StrategyClient {
+
+        private final CountDownLatch gamesOver;
+        private final ConcurrentHashMap<Integer, Integer> winners = new ConcurrentHashMap<>();
+
+        CountingClient(MoveSink moves, int games) {
+            super(GreedyStrategy::new, 1L, moves);
+            this.gamesOver = new CountDownLatch(games);
+        }
+
+        @Override
+        public void onGameOver(int tableId, int playerId, int winnerId) {
+            super.onGameOver(tableId, playerId, winnerId);
+            winners.put(tableId, winnerId);
+            gamesOver.countDown();
+        }
+    }
+
+    private static StrategyFactory[] seats(TableClient client, int numPlayers) {
+        StrategyFactory[] seats = new StrategyFactory[numPlayers];
+        Arrays.fill(seats, (StrategyFactory) GreedyStrategy::new);
+        seats[0] = GameServer.remote(client);
+        return seats;
+    }
+
+    @Test
+    public void thousandsOfTablesPlayToTheEnd() throws InterruptedException {
+
+        int tables = 2000;
+        try (GameServer server = new GameServer(4)) {
+            CountingClient client = new CountingClient(server, tables);
+            for (int table = 0; table < tables; table++) {
+                server.openTable(seats(client, 2 + table % 3), table);
+            }
+
+            assertTrue(client.gamesOver.await(60, TimeUnit.SECONDS));
+            assertEquals(tables, client.winners.size());
+            assertFalse(client.winners.containsValue(0));
+            assertEquals(tables, server.getGamesFinished());
+            assertEquals(0, server.getGamesStopped());
+            assertEquals(0, server.getMovesRejected());
+            assertEquals(0, server.getOpenTables());
+            assertEquals(0, client.getSeats());
+            assertTrue(server.getMoveLatencies().getCount() > tables);
+        }
+
+    }
+
+    @Test
+    public void movesOutOfTurnAreRejected() throws InterruptedException {
+
+        try (GameServer server = new GameServer(1)) {
+            CountDownLatch turn = new CountDownLatch(1);
+            CountDownLatch rejected = new CountDownLatch(1);
+            AtomicInteger rejectedMove = new AtomicInteger();
+            AtomicInteger tableOfTurn = new AtomicInteger();
+            AtomicLong dealt = new AtomicLong();
+            TableClient client = new StrategyClient(GreedyStrategy::new, 1L, server) {
+                @Override
+                public void onDeal(int tableId, int playerId, long hand) {
+                    dealt.set(hand);
+                }
+
+                @Override
+                public void onTurn(int tableId, int playerId, Card topCard, Card.Suit declaredSuit) {
+                    tableOfTurn.set(tableId);
+                    turn.countDown();
+                }
+
+                @Override
+                public void onMoveRejected(int tableId, int playerId, int move) {
+                    rejectedMove.set(move);
+                    rejected.countDown();
+                }
+            };
+
+            int table = server.openTable(seats(client, 2), 5L);
+            assertTrue(turn.await(10, TimeUnit.SECONDS));
+            assertEquals(table, tableOfTurn.get());
+
+            //player 2 is played by the server, and player 1 cannot play a card it was not dealt
+            server.submitMove(table, 2, GameState.DRAW);
+            int move = GameState.playMove(Long.numberOfTrailingZeros(~dealt.get()), 0);
+            server.submitMove(table, 1, move);
+            assertTrue(rejected.await(10, TimeUnit.SECONDS));
+            assertEquals(2, server.getMovesRejected());
+            assertEquals(move, rejectedMove.get());
+            assertEquals(1, server.getOpenTables());
+        }
+
+    }
+
+    @Test
+    public void clientsPlayOverLoopbackSockets() throws Exception {
+
+        int tables = 50;
+        try (GameServer server = new GameServer(2);
+             GameSocketServer socketServer = new GameSocketServer(server, 0);
+             GameSocketClient connection = new GameSocketClient(socketServer.getPort())) {
+            CountingClient client = new CountingClient(connection, tables);
+            connection.start(client);
+            for (int table = 0; table < tables; table++) {
+                connection.openTable(2 + table % 4, table);
+            }
+
+            assertTrue(client.gamesOver.await(60, TimeUnit.SECONDS));
+            assertFalse(client.winners.containsValue(0));
+            assertEquals(tables, server.getGamesFinished());
+            assertEquals(0, server.getMovesRejected());
+        }
+
+    }
+
+    @Test
+    public void tablesOfAClientThatHangsUpAreClosed() throws Exception {
+
+        int tables = 20;
+        try (GameServer server = new GameServer(2);
+             GameSocketServer socketServer = new GameSocketServer(server, 0)) {
+            CountDownLatch turns = new CountDownLatch(tables);
+            GameSocketClient connection = new GameSocketClient(socketServer.getPort());
+            //a client that never answers its turns
+            connection.start(new StrategyClient(GreedyStrategy::new, 1L, connection) {
+                @Override
+                public void onTurn(int tableId, int playerId, Card topCard, Card.Suit declaredSuit) {
+                    turns.countDown();
+                }
+            });
+            for (int table = 0; table < tables; table++) {
+                connection.openTable(3, table);
+            }
+            assertTrue(turns.await(10, TimeUnit.SECONDS));
+            assertEquals(tables, server.getOpenTables());
+
+            connection.close();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (server.getOpenTables() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(0, server.getOpenTables());
+            assertEquals(tables, server.getGamesStopped());
+        }
+
+    }
+
+    @Test
+    public void closedTablesTellTheirClients() throws InterruptedException {
+
+        try (GameServer server = new GameServer(1)) {
+            CountDownLatch turn = new CountDownLatch(1);
+            CountingClient client = new CountingClient(server, 1) {
+                @Override
+                public void onTurn(int tableId, int playerId, Card topCard, Card.Suit declaredSuit) {
+                    turn.countDown();
+                }
+            };
+
+            int table = server.openTable(seats(client, 2), 3L);
+            assertTrue(turn.await(10, TimeUnit.SECONDS));
+            server.closeTable(table);
+            server.closeTable(table);
+
+            assertTrue(client.gamesOver.await(10, TimeUnit.SECONDS));
+            assertEquals(Integer.valueOf(0), client.winners.get(table));
+            assertEquals(0, client.getSeats());
+            assertEquals(1, server.getGamesStopped());
+        }
+
+    }
+
+    @Test
+    public void queueKeepsTheOrderOfEachProducer() throws InterruptedException {
+
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscQueue<long[]> queue = new MpscQueue<>();
+        Thread[] threads = new Thread[producers];
+        for (int producer = 0; producer < producers; producer++) {
+            long id = producer;
+            threads[producer] = new Thread(() -> {
+                for (long sequence = 0; sequence < perProducer; sequence++) {
+                    queue.offer(new long[] {id, sequence});
+                }
+            });
+            threads[producer].start();
+        }
+
+        long[] next = new long[producers];
+        int polled = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (polled < producers * perProducer && System.nanoTime() < deadline) {
+            long[] element = queue.poll();
+            if (element != null) {
+                assertEquals(next[(int) element[0]]++, element[1]);
+                polled++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, polled);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+    }
+
+    @Test
+    public void seatsOfOneClientAtATableGetTheirOwnGenerators() {
+
+        List<Long> firstDraws = new ArrayList<>();
+        StrategyFactory recording = random -> {
+            firstDraws.add(random.nextLong());
+            return new GreedyStrategy(random);
+        };
+        StrategyClient client = new StrategyClient(recording, 1L, (tableId, playerId, move) -> {
+        });
+
+        client.onTableOpened(7, 1, 3);
+        client.onTableOpened(7, 2, 3);
+        client.onTableOpened(8, 1, 3);
+
+        assertEquals(3, new HashSet<>(firstDraws).size());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tablesOfMoreSeatsThanOneDeckAreRefused() {
+        try (GameServer server = new GameServer(1)) {
+            server.openTable(seats(new StrategyClient(GreedyStrategy::new, 1L, server),
+                    Crazy8Game.MAX_PLAYERS_PER_DECK + 1), 1L);
+        }
+    }
+
+    @Test
+    public void clientsHearOfTablesThatFailToOpen() throws InterruptedException {
+
+        try (GameServer server = new GameServer(1)) {
+            CountingClient client = new CountingClient(server, 1);
+            StrategyFactory[] seats = seats(client, 3);
+            seats[2] = random -> {
+                throw new IllegalStateException("This seat cannot be created");
+            };
+
+            int table = server.openTable(seats, 1L);
+            assertTrue(client.gamesOver.await(10, TimeUnit.SECONDS));
+            assertEquals(Integer.valueOf(0), client.winners.get(table));
+            assertEquals(1, server.getGamesStopped());
+            assertEquals(0, server.getOpenTables());
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void serverNeedsAShard() {
+        new GameServer(0);
+    }
+
+}
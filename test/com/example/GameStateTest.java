@@ -0,0 +1,228 @@
+package com.example;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class GameStateTest {
+
+    @Test
+    public void snapshotMatchesGame() {
+
+        Crazy8Game game = new Crazy8Game(4, 21L, GameEventSink.SILENT);
+        GameState state = game.snapshot();
+
+        assertEquals(4, state.getNumSeats());
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(game.getPlayer(seat + 1).getCurrentDeck().getMask(), state.getHand(seat));
+        }
+        assertEquals(game.getDrawPile().size(), state.getDrawPileSize());
+        assertEquals(game.getDrawPile().get(0).getIndex(), state.getDrawPileCard(0));
+        assertEquals(0, state.getSeat());
+        assertFalse(state.isRoundOver());
+
+    }
+
+    @Test
+    public void snapshotFollowsTurns() {
+
+        Crazy8Game game = new Crazy8Game(3, 8L, GameEventSink.SILENT);
+        game.getPlayer(1).playTurn();
+        GameState state = game.snapshot();
+
+        assertEquals(1, state.getSeat());
+        assertEquals(1, state.getTurnNumber());
+        assertEquals(game.getPlayer(1).getCurrentDeck().getMask(), state.getHand(0));
+
+    }
+
+    @Test
+    public void undoRestoresEveryMove() {
+
+        GameState state = new Crazy8Game(4, 3L, GameEventSink.SILENT).snapshot();
+        GameState start = state.copy();
+        SplittableRandom random = new SplittableRandom(5);
+
+        int[] undos = new int[200];
+        int moves = 0;
+        while (!state.isRoundOver()) {
+            long playable = state.playableMask();
+            int move = GameState.DRAW;
+            if (playable != 0) {
+                int card = Long.numberOfTrailingZeros(playable);
+                move = GameState.playMove(card, random.nextInt(4));
+            }
+            undos[moves++] = state.apply(move);
+        }
+
+        while (moves > 0) {
+            state.undo(undos[--moves]);
+        }
+
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(start.getHand(seat), state.getHand(seat));
+        }
+        assertEquals(start.getDrawPileSize(), state.getDrawPileSize());
+        assertEquals(start.getTopCard(), state.getTopCard());
+        assertEquals(start.getPileSuit(), state.getPileSuit());
+        assertEquals(start.getSeat(), state.getSeat());
+        assertEquals(0, state.getTurnNumber());
+
+    }
+
+    @Test
+    public void eightDeclaresSuit() {
+
+        GameState state = new GameState(2);
+        Card eight = Card.of(Card.Suit.CLUBS, Card.Rank.EIGHT);
+        state.hands[0] = Hand.bit(eight) | Hand.bit(Card.of(Card.Suit.HEARTS, Card.Rank.ACE));
+        state.hands[1] = Hand.bit(Card.of(Card.Suit.SPADES, Card.Rank.TWO));
+        state.drawPile[0] = Card.of(Card.Suit.DIAMONDS, Card.Rank.KING).getIndex();
+        state.drawEnd = 1;
+        state.topCard = Card.of(Card.Suit.CLUBS, Card.Rank.THREE).getIndex();
+        state.pileSuit = Card.Suit.CLUBS.ordinal();
+
+        int undo = state.apply(GameState.playMove(eight.getIndex(), Card.Suit.SPADES.ordinal()));
+
+        assertEquals(eight.getIndex(), state.getTopCard());
+        assertEquals(Card.Suit.SPADES.ordinal(), state.getPileSuit());
+        assertEquals(state.getHand(1), state.playableMask());
+
+        state.undo(undo);
+        assertEquals(Card.Suit.CLUBS.ordinal(), state.getPileSuit());
+        assertEquals(0, state.getSeat());
+
+    }
+
+    @Test
+    public void drawingTheLastCardEndsTheRoundWithoutTheReshuffleRule() {
+
+        GameState state = oneCardLeft(false);
+        state.apply(GameState.DRAW);
+
+        assertTrue(state.isRoundOver());
+
+    }
+
+    @Test
+    public void discardsAreReshuffledIntoAnEmptyDrawPile() {
+
+        GameState state = oneCardLeft(true);
+        GameState start = state.copy();
+        long discards = state.getDiscards();
+
+        int firstDraw = state.apply(GameState.DRAW);
+        assertFalse(state.isRoundOver());
+        assertEquals(0, state.getDrawPileSize());
+
+        int secondDraw = state.apply(GameState.DRAW);
+        assertFalse(state.isRoundOver());
+        assertEquals(0, state.getDiscards());
+        assertEquals(Long.bitCount(discards) - 1, state.getDrawPileSize());
+        assertEquals(2, Long.bitCount(state.getHand(0)));
+        assertNotEquals(0, state.getHand(0) & discards);
+
+        state.undo(secondDraw);
+        state.undo(firstDraw);
+        assertEquals(start.getHand(0), state.getHand(0));
+        assertEquals(start.getHand(1), state.getHand(1));
+        assertEquals(discards, state.getDiscards());
+        assertEquals(1, state.getDrawPileSize());
+        assertEquals(start.getDrawPileCard(0), state.getDrawPileCard(0));
+
+    }
+
+    @Test
+    public void reshuffleIsTheSameAfterAnUndo() {
+
+        GameState state = oneCardLeft(true);
+        state.apply(GameState.DRAW);
+        GameState beforeReshuffle = state.copy();
+
+        int undo = state.apply(GameState.DRAW);
+        GameState reshuffled = state.copy();
+        state.undo(undo);
+        assertEquals(beforeReshuffle.shuffleState, state.shuffleState);
+        state.apply(GameState.DRAW);
+
+        assertEquals(reshuffled.getHand(0), state.getHand(0));
+        assertEquals(reshuffled.getDrawPileSize(), state.getDrawPileSize());
+        for (int position = 0; position < reshuffled.getDrawPileSize(); position++) {
+            assertEquals(reshuffled.getDrawPileCard(position), state.getDrawPileCard(position));
+        }
+
+    }
+
+    @Test
+    public void undoRestoresEveryMoveWithReshuffles() {
+
+        Crazy8Game game = new Crazy8Game(2, 6L, GameEventSink.SILENT);
+        game.setReshuffleDiscards(true);
+        GameState state = game.snapshot();
+        assertTrue(state.isReshuffleDiscards());
+        GameState start = state.copy();
+
+        //players that draw whenever they can keep the piles cycling for many reshuffles
+        int[] undos = new int[400];
+        int moves = 0;
+        int reshuffles = 0;
+        while (!state.isRoundOver() && moves < undos.length) {
+            long playable = state.playableMask();
+            int move = GameState.DRAW;
+            if (playable != 0 && (state.getDrawPileSize() == 0 && state.getDiscards() == 0 || moves % 3 == 0)) {
+                move = GameState.playMove(Long.numberOfTrailingZeros(playable), 0);
+            } else if (state.getDrawPileSize() == 0) {
+                reshuffles++;
+            }
+            undos[moves++] = state.apply(move);
+        }
+        assertTrue(reshuffles > 1);
+
+        while (moves > 0) {
+            state.undo(undos[--moves]);
+        }
+
+        for (int seat = 0; seat < 2; seat++) {
+            assertEquals(start.getHand(seat), state.getHand(seat));
+        }
+        assertEquals(start.getDiscards(), state.getDiscards());
+        assertEquals(start.getDrawPileSize(), state.getDrawPileSize());
+        for (int position = 0; position < start.getDrawPileSize(); position++) {
+            assertEquals(start.getDrawPileCard(position), state.getDrawPileCard(position));
+        }
+        assertEquals(start.getTopCard(), state.getTopCard());
+
+    }
+
+    /**
+     * A round of two players with one card left to draw, the rest of the deck under the top card.
+     */
+    private static GameState oneCardLeft(boolean reshuffleDiscards) {
+
+        GameState state = new GameState(2);
+        state.setReshuffleDiscards(reshuffleDiscards);
+        state.hands[0] = Hand.bit(Card.of(Card.Suit.HEARTS, Card.Rank.TWO));
+        state.hands[1] = Hand.bit(Card.of(Card.Suit.SPADES, Card.Rank.TWO));
+        state.drawPile[0] = Card.of(Card.Suit.DIAMONDS, Card.Rank.KING).getIndex();
+        state.drawEnd = 1;
+        state.topCard = Card.of(Card.Suit.CLUBS, Card.Rank.THREE).getIndex();
+        state.pileSuit = Card.Suit.CLUBS.ordinal();
+        state.discards = (1L << Card.DECK_SIZE) - 1 & ~(state.hands[0] | state.hands[1]
+                | 1L << state.drawPile[0] | 1L << state.topCard);
+        state.seat = 1;
+        return state;
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noMovesAfterTheRoundEnded() {
+
+        GameState state = new GameState(2);
+        state.roundOver = true;
+        state.apply(GameState.DRAW);
+
+    }
+
+}
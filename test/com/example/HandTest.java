@@ -0,0 +1,111 @@
+package com.example;
+
+import com.example.Card.Rank;
+import com.example.Card.Suit;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HandTest {
+
+    private Hand hand;
+
+    @Before
+    public void setUp() {
+        hand = new Hand();
+        hand.add(Card.of(Suit.SPADES, Rank.KING));
+        hand.add(Card.of(Suit.DIAMONDS, Rank.THREE));
+        hand.add(Card.of(Suit.HEARTS, Rank.EIGHT));
+    }
+
+    @Test
+    public void cardsAreListedByIndex() {
+
+        List<Card> cards = new ArrayList<>(hand);
+
+        assertEquals(3, hand.size());
+        assertEquals(Card.of(Suit.DIAMONDS, Rank.THREE), cards.get(0));
+        assertEquals(Card.of(Suit.HEARTS, Rank.EIGHT), cards.get(1));
+        assertEquals(Card.of(Suit.SPADES, Rank.KING), hand.get(2));
+
+    }
+
+    @Test
+    public void removeCard() {
+
+        assertTrue(hand.remove(new Card(Suit.SPADES, Rank.KING)));
+        assertFalse(hand.remove(Card.of(Suit.SPADES, Rank.KING)));
+        assertFalse(hand.contains(Card.of(Suit.SPADES, Rank.KING)));
+        assertEquals(2, hand.size());
+
+    }
+
+    @Test
+    public void pointTotal() {
+        assertEquals(10 + 3 + 50, hand.getPointTotal());
+    }
+
+    @Test
+    public void eightIsAlwaysPlayable() {
+        assertTrue(hand.hasPlayableCard(Card.of(Suit.CLUBS, Rank.FIVE), null));
+    }
+
+    @Test
+    public void declaredSuitReplacesTopCardSuit() {
+
+        hand.remove(Card.of(Suit.HEARTS, Rank.EIGHT));
+
+        //the top card is a club but diamonds were declared
+        assertTrue(hand.hasPlayableCard(Card.of(Suit.CLUBS, Rank.EIGHT), Suit.DIAMONDS));
+        assertFalse(hand.hasPlayableCard(Card.of(Suit.SPADES, Rank.EIGHT), Suit.HEARTS));
+
+    }
+
+    @Test
+    public void iteratorRemove() {
+
+        hand.removeIf(card -> card.getRank() == Rank.THREE);
+
+        assertEquals(2, hand.size());
+        assertFalse(hand.contains(Card.of(Suit.DIAMONDS, Rank.THREE)));
+
+    }
+
+    @Test
+    public void copiesOfACardFromSeveralDecks() {
+
+        Card king = Card.of(Suit.SPADES, Rank.KING);
+        hand.add(king);
+        hand.add(king);
+
+        assertEquals(5, hand.size());
+        assertEquals(3, hand.count(king));
+        assertEquals(3 * 10 + 3 + 50, hand.getPointTotal());
+        assertEquals(Arrays.asList(Card.of(Suit.DIAMONDS, Rank.THREE), Card.of(Suit.HEARTS, Rank.EIGHT), king, king,
+                king), new ArrayList<>(hand));
+        assertEquals(king, hand.get(4));
+
+        assertTrue(hand.remove(king));
+        assertEquals(2, hand.count(king));
+        hand.removeIf(card -> card.equals(king));
+        assertFalse(hand.contains(king));
+        assertEquals(2, hand.size());
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noMoreCopiesThanDecks() {
+
+        for (int copy = 0; copy < Card.MAX_DECKS; copy++) {
+            hand.add(Card.of(Suit.CLUBS, Rank.ACE));
+        }
+        hand.add(Card.of(Suit.CLUBS, Rank.ACE));
+
+    }
+
+}
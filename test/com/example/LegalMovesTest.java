@@ -0,0 +1,57 @@
+package com.example;
+
+import org.junit.Test;
+
+import com.example.Card.Rank;
+import com.example.Card.Suit;
+
+import static org.junit.Assert.*;
+
+public class LegalMovesTest {
+
+    @Test
+    public void tableMatchesTheRules() {
+
+        for (int top = 0; top < Card.DECK_SIZE; top++) {
+            for (int declared = 0; declared <= LegalMoves.NO_DECLARED_SUIT; declared++) {
+                Card topCard = Card.of(top);
+                Suit suitToMatch = declared == LegalMoves.NO_DECLARED_SUIT ? topCard.getSuit() : Suit.values()[declared];
+                long playable = LegalMoves.playableMask(top, declared);
+
+                for (int card = 0; card < Card.DECK_SIZE; card++) {
+                    Card candidate = Card.of(card);
+                    boolean legal = candidate.getRank() == Rank.EIGHT || candidate.getSuit() == suitToMatch
+                            || candidate.getRank() == topCard.getRank();
+                    assertEquals(legal, (playable & (1L << card)) != 0);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void playableIsTheHandsShareOfTheTable() {
+
+        Hand hand = new Hand();
+        hand.add(Card.of(Suit.HEARTS, Rank.TWO));
+        hand.add(Card.of(Suit.CLUBS, Rank.NINE));
+        hand.add(Card.of(Suit.SPADES, Rank.EIGHT));
+
+        long playable = LegalMoves.playable(hand.getMask(), Card.of(Suit.DIAMONDS, Rank.NINE), null);
+
+        assertEquals(Hand.bit(Card.of(Suit.CLUBS, Rank.NINE)) | Hand.bit(Card.of(Suit.SPADES, Rank.EIGHT)), playable);
+        assertEquals(playable, hand.getPlayableMask(Card.of(Suit.DIAMONDS, Rank.NINE), null));
+
+    }
+
+    @Test
+    public void declaredSuitReplacesTopCardSuit() {
+
+        Card eight = Card.of(Suit.CLUBS, Rank.EIGHT);
+
+        assertTrue(LegalMoves.isPlayable(Card.of(Suit.HEARTS, Rank.KING), eight, Suit.HEARTS));
+        assertFalse(LegalMoves.isPlayable(Card.of(Suit.CLUBS, Rank.KING), eight, Suit.HEARTS));
+
+    }
+
+}
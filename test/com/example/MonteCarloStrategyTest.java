@@ -0,0 +1,122 @@
+package com.example;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MonteCarloStrategyTest {
+
+    @Test
+    public void playsLegalGamesAgainstGreedy() {
+
+        for (long seed = 0; seed < 5; seed++) {
+            PlayerStrategy[] strategies = {
+                    new MonteCarloStrategy(new SplittableRandom(seed), 64),
+                    new GreedyStrategy(new SplittableRandom(seed + 100)),
+                    new GreedyStrategy(new SplittableRandom(seed + 200))
+            };
+            Crazy8Game game = new Crazy8Game(strategies, seed, GameEventSink.SILENT);
+
+            assertNotNull(game.playGame());
+            assertNull(game.getRuleViolation());
+        }
+
+    }
+
+    @Test
+    public void parallelSearchPlaysLegalGames() {
+
+        PlayerStrategy[] strategies = {
+                new GreedyStrategy(new SplittableRandom(1)),
+                new MonteCarloStrategy(new SplittableRandom(2), 128, 0, 4)
+        };
+        Crazy8Game game = new Crazy8Game(strategies, 11L, GameEventSink.SILENT);
+
+        assertNotNull(game.playGame());
+        assertNull(game.getRuleViolation());
+
+    }
+
+    @Test
+    public void registeredUnderItsName() {
+
+        StrategyFactory[] seats = StrategyRegistry.withDefaults().getAll(StrategyRegistry.ISMCTS, StrategyRegistry.GREEDY);
+        Crazy8Game game = new Crazy8Game(seats, 3L, GameEventSink.SILENT);
+
+        assertTrue(game.getPlayer(1).getStrategy() instanceof MonteCarloStrategy);
+        assertNotNull(game.playGame());
+
+    }
+
+    @Test
+    public void winsMoreThanGreedy() {
+
+        TournamentResult result = new Tournament(StrategyRegistry.withDefaults().getAll(StrategyRegistry.ISMCTS,
+                StrategyRegistry.GREEDY), 40, 5).run();
+
+        assertEquals(0, result.getGamesStopped());
+        assertTrue(result.getWins(1) > result.getWins(2));
+
+    }
+
+    @Test
+    public void followsReshuffledDiscards() {
+
+        Tournament tournament = new Tournament(StrategyRegistry.withDefaults().getAll(StrategyRegistry.ISMCTS,
+                StrategyRegistry.GREEDY, StrategyRegistry.GREEDY, StrategyRegistry.GREEDY), 10, 17);
+        tournament.setReshuffleDiscards(true);
+        TournamentResult result = tournament.run();
+
+        assertEquals(0, result.getGamesStopped());
+
+    }
+
+    @Test
+    public void searchesPlayByTheReshuffleRule() {
+
+        MonteCarloStrategy monteCarlo = new MonteCarloStrategy(new SplittableRandom(3), 64);
+        monteCarlo.setReshuffleDiscards(true);
+        PlayerStrategy[] strategies = {
+                monteCarlo,
+                new GreedyStrategy(new SplittableRandom(4)),
+                new GreedyStrategy(new SplittableRandom(5)),
+                new GreedyStrategy(new SplittableRandom(6))
+        };
+        Crazy8Game game = new Crazy8Game(strategies, 23L, GameEventSink.SILENT);
+        game.setReshuffleDiscards(true);
+
+        assertNotNull(game.playGame());
+        assertNull(game.getRuleViolation());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesTablesOfSeveralDecks() {
+
+        StrategyFactory[] seats = StrategyRegistry.withDefaults().getAll(StrategyRegistry.GREEDY,
+                StrategyRegistry.ISMCTS, StrategyRegistry.GREEDY);
+        new Crazy8Game(seats, 2, 1L, GameEventSink.SILENT, Instrumentation.NOOP);
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesTablesOfSeveralDecksBehindADeadline() {
+
+        try (DecisionScheduler scheduler = new DecisionScheduler(10, TimeUnit.SECONDS)) {
+            StrategyFactory greedy = GreedyStrategy::new;
+            StrategyFactory monteCarlo = random -> new MonteCarloStrategy(random, 64);
+            StrategyFactory[] seats = {greedy, scheduler.guard(monteCarlo)};
+            new Crazy8Game(seats, 2, 1L, GameEventSink.SILENT, Instrumentation.NOOP);
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroRollouts() {
+        new MonteCarloStrategy(new SplittableRandom(1), 0);
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.example;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class PhaseTimersTest {
+
+    private static Crazy8Game newGame(long seed, Instrumentation instrumentation) {
+        StrategyFactory[] seats = StrategyRegistry.withDefaults().getAll("greedy", "greedy", "greedy", "greedy");
+        return new Crazy8Game(seats, seed, GameEventSink.SILENT, instrumentation);
+    }
+
+    @Test
+    public void gamesAreNotInstrumentedByDefault() {
+
+        Crazy8Game game = new Crazy8Game(4, 3L, GameEventSink.SILENT);
+        assertSame(Instrumentation.NOOP, game.getInstrumentation());
+
+    }
+
+    @Test
+    public void everyPhaseOfAGameIsTimed() {
+
+        PhaseTimers timers = new PhaseTimers();
+        Crazy8Game game = newGame(5L, timers);
+        game.playGame();
+
+        assertEquals(game.getTurnsPlayed(), timers.getCount(Instrumentation.Counter.TURNS));
+        assertEquals(game.getTurnsPlayed(), timers.getPhase(Instrumentation.Phase.DECISION).getCount());
+        assertEquals(game.getTurnsPlayed(), timers.getDecisions("GreedyStrategy").getCount());
+        assertEquals(game.getRoundsPlayed(), timers.getPhase(Instrumentation.Phase.DEAL).getCount());
+        assertEquals(game.getRoundsPlayed(), timers.getPhase(Instrumentation.Phase.SCORING).getCount());
+        //every turn is validated and then checked for the end of the round
+        assertEquals(2 * game.getTurnsPlayed(), timers.getPhase(Instrumentation.Phase.VALIDATION).getCount());
+        assertTrue(timers.getCount(Instrumentation.Counter.DRAWS) <= game.getTurnsPlayed());
+        assertEquals(0, timers.getCount(Instrumentation.Counter.RESHUFFLES));
+
+    }
+
+    @Test
+    public void guardedDecisionsAreFiledUnderTheGuardedStrategy() {
+
+        PhaseTimers timers = new PhaseTimers();
+        try (DecisionScheduler scheduler = new DecisionScheduler(10, TimeUnit.SECONDS)) {
+            StrategyFactory greedy = GreedyStrategy::new;
+            StrategyFactory[] seats = {scheduler.guard(greedy), scheduler.guard(greedy), scheduler.guard(greedy)};
+            Crazy8Game game = new Crazy8Game(seats, 9L, GameEventSink.SILENT, timers);
+            game.playGame();
+
+            assertEquals(game.getTurnsPlayed(), timers.getDecisions("GreedyStrategy").getCount());
+            assertNull(timers.getDecisions("DeadlineStrategy"));
+        }
+
+    }
+
+    @Test
+    public void reshufflesAreCounted() {
+
+        PhaseTimers timers = new PhaseTimers();
+        for (long seed = 0; seed < 20; seed++) {
+            Crazy8Game game = newGame(seed, timers);
+            game.setReshuffleDiscards(true);
+            game.playGame();
+        }
+        assertTrue(timers.getCount(Instrumentation.Counter.RESHUFFLES) > 0);
+
+    }
+
+    @Test
+    public void tournamentGamesShareTheTimers() {
+
+        Tournament tournament = new Tournament(4, 200, 11L);
+        PhaseTimers timers = new PhaseTimers();
+        tournament.setInstrumentation(timers);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        TournamentResult result = tournament.run(pool);
+        pool.shutdown();
+
+        assertEquals(result.getRoundsPlayed(), timers.getPhase(Instrumentation.Phase.DEAL).getCount());
+        assertEquals(result.getRoundsPlayed(), timers.getPhase(Instrumentation.Phase.SCORING).getCount());
+
+    }
+
+    @Test
+    public void timersAreReadableOverJmx() throws Exception {
+
+        PhaseTimers timers = new PhaseTimers();
+        ObjectName name = timers.register("test");
+        try {
+            newGame(7L, timers).playGame();
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+            assertEquals(timers.getCount(Instrumentation.Counter.TURNS),
+                    counters.get(new Object[] {"TURNS"}).get("value"));
+            assertEquals(timers.getSlowDecisions(), server.getAttribute(name, "SlowDecisions"));
+
+            try {
+                timers.register("again");
+                fail("Registered twice");
+            } catch (IllegalStateException expected) {
+                //registered timers stay under their first name
+            }
+        } finally {
+            timers.unregister();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+    }
+
+    @Test
+    public void decisionsAreRecordedAsFlightRecorderEvents() throws Exception {
+
+        PhaseTimers timers = new PhaseTimers();
+        Path file = Files.createTempFile("phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseTimers.DecisionEvent.class);
+            recording.start();
+            newGame(9L, timers).playGame();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        long decisions = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals("com.example.Decision")) {
+                assertEquals("GreedyStrategy", event.getString("strategy"));
+                decisions++;
+            }
+        }
+        Files.delete(file);
+        assertEquals(timers.getPhase(Instrumentation.Phase.DECISION).getCount(), decisions);
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example;
+
+import com.example.Card.Rank;
+import com.example.Card.Suit;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RuleValidatorTest {
+
+    private RuleValidator validator;
+
+    @Before
+    public void setUp() {
+        validator = new RuleValidator(3);
+        validator.startRound(Card.of(Suit.HEARTS, Rank.SEVEN));
+    }
+
+    private static PlayerTurn turn(int playerId, boolean drewACard, Card playedCard, Suit declaredSuit) {
+        PlayerTurn turn = new PlayerTurn();
+        turn.playerId = playerId;
+        turn.drewACard = drewACard;
+        turn.playedCard = playedCard;
+        turn.declaredSuit = declaredSuit;
+        return turn;
+    }
+
+    @Test
+    public void legalTurns() {
+
+        assertNull(validator.validate(turn(1, false, Card.of(Suit.HEARTS, Rank.TWO), null)));
+        assertNull(validator.validate(turn(2, false, Card.of(Suit.CLUBS, Rank.TWO), null)));
+        assertNull(validator.validate(turn(3, true, null, null)));
+        assertNull(validator.validate(turn(1, false, Card.of(Suit.DIAMONDS, Rank.EIGHT), Suit.SPADES)));
+        assertNull(validator.validate(turn(2, false, Card.of(Suit.SPADES, Rank.KING), null)));
+
+    }
+
+    @Test
+    public void declaredSuitMustBeFollowed() {
+
+        validator.validate(turn(1, false, Card.of(Suit.HEARTS, Rank.EIGHT), Suit.CLUBS));
+
+        RuleViolation violation = validator.validate(turn(2, false, Card.of(Suit.HEARTS, Rank.FOUR), null));
+        assertEquals(RuleViolation.Type.CARD_NOT_PLAYABLE, violation.getType());
+        assertEquals(2, violation.getPlayerId());
+        assertEquals(1, violation.getTurnNumber());
+
+    }
+
+    @Test
+    public void violationLeavesStateUnchanged() {
+
+        assertNotNull(validator.validate(turn(1, false, Card.of(Suit.SPADES, Rank.FOUR), null)));
+
+        assertEquals(Suit.HEARTS, validator.getLegalSuit());
+        assertNull(validator.validate(turn(1, false, Card.of(Suit.SPADES, Rank.SEVEN), null)));
+
+    }
+
+    @Test
+    public void brokenTurns() {
+
+        assertEquals(RuleViolation.Type.OUT_OF_TURN,
+                validator.validate(turn(2, true, null, null)).getType());
+        assertEquals(RuleViolation.Type.NO_ACTION,
+                validator.validate(turn(1, false, null, null)).getType());
+        assertEquals(RuleViolation.Type.DREW_AND_PLAYED,
+                validator.validate(turn(1, true, Card.of(Suit.HEARTS, Rank.TWO), null)).getType());
+        assertEquals(RuleViolation.Type.MISSING_DECLARED_SUIT,
+                validator.validate(turn(1, false, Card.of(Suit.CLUBS, Rank.EIGHT), null)).getType());
+        assertEquals(RuleViolation.Type.UNEXPECTED_DECLARED_SUIT,
+                validator.validate(turn(1, false, Card.of(Suit.HEARTS, Rank.TWO), Suit.CLUBS)).getType());
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.example;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ShardCoordinatorTest {
+
+    private static final String[] THREE_GREEDY = {StrategyRegistry.GREEDY, StrategyRegistry.GREEDY,
+            StrategyRegistry.GREEDY};
+    private static final String[] FOUR_GREEDY = {StrategyRegistry.GREEDY, StrategyRegistry.GREEDY,
+            StrategyRegistry.GREEDY, StrategyRegistry.GREEDY};
+
+    private static void assertSameResult(String[] lineup, int numGames, long seed, TournamentResult actual) {
+
+        Tournament tournament = new Tournament(StrategyRegistry.withDefaults().getAll(lineup), numGames, seed);
+        TournamentResult expected = tournament.run(new ForkJoinPool(1));
+
+        assertEquals(expected.getGamesPlayed(), actual.getGamesPlayed());
+        assertEquals(expected.getGamesStopped(), actual.getGamesStopped());
+        assertEquals(expected.getRoundsPlayed(), actual.getRoundsPlayed());
+        assertEquals(expected.getTurnsPlayed(), actual.getTurnsPlayed());
+        assertEquals(expected.getShortestGameRounds(), actual.getShortestGameRounds());
+        assertEquals(expected.getLongestGameRounds(), actual.getLongestGameRounds());
+        for (int playerId = 1; playerId <= lineup.length; playerId++) {
+            assertEquals(expected.getWins(playerId), actual.getWins(playerId));
+            assertEquals(expected.getAverageScore(playerId), actual.getAverageScore(playerId), 0);
+        }
+
+    }
+
+    @Test
+    public void workersPlayTheGamesOfAnInProcessTournament() throws InterruptedException {
+
+        List<String[]> lineups = Arrays.asList(THREE_GREEDY, FOUR_GREEDY);
+        ShardCoordinator coordinator = new ShardCoordinator(lineups, 500, 42L);
+        coordinator.setNumWorkers(2);
+        coordinator.setGamesPerShard(200);
+
+        TournamentResult[] results = coordinator.run();
+
+        assertEquals(2, results.length);
+        assertSameResult(THREE_GREEDY, 500, 42L, results[0]);
+        assertSameResult(FOUR_GREEDY, 500, 42L, results[1]);
+        assertEquals(1000, coordinator.getGamesFinished());
+        assertEquals(0, coordinator.getWorkerFailures());
+
+    }
+
+    @Test
+    public void gamesOfAKilledWorkerArePlayedAgain() throws Exception {
+
+        int numGames = 100_000;
+        ShardCoordinator coordinator = new ShardCoordinator(Arrays.<String[]>asList(THREE_GREEDY), numGames, 7L);
+        coordinator.setNumWorkers(1);
+        coordinator.setGamesPerShard(numGames);
+        FutureTask<TournamentResult[]> run = new FutureTask<>(coordinator::run);
+        new Thread(run).start();
+
+        //kill the only worker once it has reported some of its games, but long before it is done
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (coordinator.getGamesFinished() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(coordinator.getGamesFinished() < numGames);
+        ProcessHandle.current().children().forEach(ProcessHandle::destroyForcibly);
+
+        TournamentResult[] results;
+        try {
+            results = run.get(120, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new AssertionError(e.getCause());
+        }
+        assertEquals(1, coordinator.getWorkerFailures());
+        assertEquals(numGames, coordinator.getGamesFinished());
+        assertSameResult(THREE_GREEDY, numGames, 7L, results[0]);
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ismctsLineupsCannotPlayWithSeveralDecks() {
+
+        ShardCoordinator coordinator = new ShardCoordinator(Arrays.<String[]>asList(THREE_GREEDY,
+                new String[] {StrategyRegistry.GREEDY, StrategyRegistry.ISMCTS}), 10, 1L);
+        coordinator.setNumDecks(2);
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownStrategiesAreRejectedBeforeAnyWorkerStarts() {
+        new ShardCoordinator(Arrays.<String[]>asList(new String[] {StrategyRegistry.GREEDY, "nobody"}), 10, 1L);
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class StatisticsAggregatorTest {
+
+    @Test
+    public void histogramBucketsCoverEveryValue() {
+
+        for (long value : new long[] {0, 1, 7, 8, 15, 16, 17, 100, 1000, 123456789, Long.MAX_VALUE}) {
+            int bucket = LogHistogram.bucketOf(value);
+            assertTrue(LogHistogram.lowestValueOf(bucket) <= value);
+            assertTrue(LogHistogram.highestValueOf(bucket) >= value);
+            //a bucket is never wider than an eighth of its values
+            assertTrue(LogHistogram.highestValueOf(bucket) - LogHistogram.lowestValueOf(bucket) <= value / 8);
+        }
+
+    }
+
+    @Test
+    public void histogramPercentiles() {
+
+        LogHistogram histogram = new LogHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean(), 1e-9);
+        assertEquals(1000, histogram.getMax());
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(median >= 500 && median <= 500 + 500 / 8);
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+
+    }
+
+    @Test
+    public void wilsonIntervalContainsTheRate() {
+
+        double lower = StrategyStatistics.wilsonBound(30, 100, StrategyStatistics.Z_95, -1);
+        double upper = StrategyStatistics.wilsonBound(30, 100, StrategyStatistics.Z_95, 1);
+
+        assertEquals(0.2189, lower, 1e-3);
+        assertEquals(0.3958, upper, 1e-3);
+        assertEquals(0, StrategyStatistics.wilsonBound(0, 10, StrategyStatistics.Z_95, -1), 1e-12);
+
+    }
+
+    @Test
+    public void parallelTournamentIsCountedOnce() {
+
+        StrategyFactory[] seats = StrategyRegistry.withDefaults().getAll("greedy", "greedy", "greedy");
+        Tournament tournament = new Tournament(seats, 500, 3);
+        StatisticsAggregator statistics = new StatisticsAggregator();
+        tournament.setStatistics(statistics, "first", "greedy", "greedy");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        TournamentResult result = tournament.run(pool);
+        pool.shutdown();
+
+        assertEquals(result.getGamesPlayed(), statistics.getGamesFinished());
+        assertEquals(result.getWins(1), statistics.getStrategy("first").getWins());
+        assertEquals(result.getWins(2) + result.getWins(3), statistics.getStrategy("greedy").getWins());
+        assertEquals(2 * result.getGamesPlayed(), statistics.getStrategy("greedy").getGamesPlayed());
+        assertEquals(result.getRoundsPlayed(), statistics.getTurnsPerRound().getCount());
+        assertEquals(result.getRoundsPlayed(), statistics.getRoundsPerGame().getMean() * 500, 1e-6);
+
+        StrategyStatistics first = statistics.getStrategy("first");
+        assertTrue(first.getWinRateLowerBound(StrategyStatistics.Z_95) <= first.getWinRate());
+        assertTrue(first.getWinRateUpperBound(StrategyStatistics.Z_95) >= first.getWinRate());
+
+    }
+
+    @Test
+    public void roundsAreCountedPerSeat() {
+
+        StatisticsAggregator statistics = new StatisticsAggregator();
+        Crazy8Game game = new Crazy8Game(4, 9L, statistics.newRecorder("a", "b", "c", "d"));
+        game.playGame();
+
+        long turns = 0;
+        long roundsWon = 0;
+        for (String name : statistics.getStrategyNames()) {
+            turns += statistics.getStrategy(name).getTurns();
+            roundsWon += statistics.getStrategy(name).getRoundsWon();
+        }
+        assertEquals(game.getTurnsPlayed(), turns);
+        assertTrue(roundsWon <= game.getRoundsPlayed());
+        assertEquals(1, statistics.getStrategy("a").getGamesPlayed());
+
+    }
+
+}
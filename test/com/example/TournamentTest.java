@@ -0,0 +1,66 @@
+package com.example;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+
+    @Test
+    public void everyGameIsCounted() {
+
+        TournamentResult result = new Tournament(4, 300, 42).run();
+
+        assertEquals(300, result.getGamesPlayed());
+
+        long totalWins = 0;
+        for (int playerId = 1; playerId <= 4; playerId++) {
+            totalWins += result.getWins(playerId);
+        }
+        assertEquals(result.getGamesPlayed() - result.getGamesStopped(), totalWins);
+
+    }
+
+    @Test
+    public void sameSeedGivesSameResult() {
+
+        TournamentResult first = new Tournament(5, 200, 7).run();
+        TournamentResult second = new Tournament(5, 200, 7).run();
+
+        assertEquals(first.getTurnsPlayed(), second.getTurnsPlayed());
+        for (int playerId = 1; playerId <= 5; playerId++) {
+            assertEquals(first.getWins(playerId), second.getWins(playerId));
+        }
+
+    }
+
+    @Test
+    public void seededGameCanBeReplayed() {
+
+        StrategyFactory greedy = GreedyStrategy::new;
+        StrategyFactory[] seatFactories = {greedy, greedy, greedy};
+        int gameNum = 4;
+
+        //game 4 is the only one a tournament of 5 games plays on top of one of 4 games
+        Tournament tournament = new Tournament(seatFactories, gameNum + 1, 99);
+        TournamentResult withGame = tournament.run();
+        TournamentResult withoutGame = new Tournament(seatFactories, gameNum, 99).run();
+
+        Crazy8Game replay = new Crazy8Game(seatFactories, tournament.getGameSeed(gameNum), GameEventSink.SILENT);
+        Crazy8Game.Player winner = replay.playGame();
+
+        assertEquals(1, withGame.getWins(winner.getPlayerId()) - withoutGame.getWins(winner.getPlayerId()));
+        assertEquals(replay.getTurnsPlayed(), withGame.getTurnsPlayed() - withoutGame.getTurnsPlayed());
+        assertEquals(replay.getRoundsPlayed(), withGame.getRoundsPlayed() - withoutGame.getRoundsPlayed());
+        for (Crazy8Game.Player player : replay.getPlayers()) {
+            assertEquals(player.getPlayerScore(), totalScore(withGame, player.getPlayerId())
+                    - totalScore(withoutGame, player.getPlayerId()));
+        }
+
+    }
+
+    private static long totalScore(TournamentResult result, int playerId) {
+        return Math.round(result.getAverageScore(playerId) * (result.getGamesPlayed() - result.getGamesStopped()));
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.example;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TurnHistoryTest {
+
+    private TurnHistory history;
+
+    @Before
+    public void setUp() {
+        history = new TurnHistory(4);
+    }
+
+    @Test
+    public void lastTurnsAreKept() {
+
+        for (int playerId = 1; playerId <= 6; playerId++) {
+            history.record(playerId, true, null, null);
+        }
+
+        assertEquals(4, history.size());
+        assertEquals(6, history.getTotalRecorded());
+        assertEquals(6, history.getLast(0).playerId);
+        assertEquals(3, history.getLast(3).playerId);
+        assertNull(history.getLast(4));
+        assertEquals(3, history.asList().get(0).playerId);
+
+    }
+
+    @Test
+    public void slotsAreReused() {
+
+        PlayerTurn first = history.record(1, true, null, null);
+        for (int playerId = 2; playerId <= 4; playerId++) {
+            history.record(playerId, true, null, null);
+        }
+
+        assertSame(first, history.record(5, false, Card.of(0), null));
+        assertEquals(5, first.playerId);
+
+    }
+
+    @Test
+    public void fullHistoryKeepsCopies() {
+
+        history.setKeepFullHistory(true);
+        for (int playerId = 1; playerId <= 10; playerId++) {
+            history.record(playerId, true, null, null);
+        }
+
+        assertEquals(10, history.getFullHistory().size());
+        assertEquals(1, history.getFullHistory().get(0).playerId);
+
+        history.clear();
+        assertEquals(0, history.size());
+        assertTrue(history.getFullHistory().isEmpty());
+
+    }
+
+    @Test
+    public void rangeViewFollowsTurnNumbers() {
+
+        TurnHistory.RangeView view = history.newRangeView();
+        for (int playerId = 1; playerId <= 6; playerId++) {
+            history.record(playerId, true, null, null);
+        }
+
+        view.setRange(3, 6);
+        assertEquals(3, view.size());
+        assertEquals(4, view.get(0).playerId);
+        assertEquals(6, view.get(2).playerId);
+
+        view.setRange(6, 6);
+        assertTrue(view.isEmpty());
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rangeViewRejectsOverwrittenTurns() {
+
+        for (int playerId = 1; playerId <= 6; playerId++) {
+            history.record(playerId, true, null, null);
+        }
+        history.newRangeView().setRange(1, 6);
+
+    }
+
+    @Test
+    public void capacityIsRoundedUp() {
+        assertEquals(8, new TurnHistory(5).getCapacity());
+    }
+
+}
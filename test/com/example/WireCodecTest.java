@@ -0,0 +1,190 @@
+package com.example;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class WireCodecTest {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(256);
+
+    private ByteBuffer flip() {
+        return buffer.flip();
+    }
+
+    @Test
+    public void varintsRoundTrip() {
+
+        int[] ints = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        long[] longs = {0, 1, 127, 128, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        for (int value : ints) {
+            WireCodec.putVarint(buffer, value);
+            WireCodec.putSignedVarint(buffer, value);
+        }
+        for (long value : longs) {
+            WireCodec.putVarlong(buffer, value);
+            WireCodec.putSignedVarlong(buffer, value);
+        }
+
+        flip();
+        for (int value : ints) {
+            assertEquals(value, WireCodec.getVarint(buffer));
+            assertEquals(value, WireCodec.getSignedVarint(buffer));
+        }
+        for (long value : longs) {
+            assertEquals(value, WireCodec.getVarlong(buffer));
+            assertEquals(value, WireCodec.getSignedVarlong(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+
+    }
+
+    @Test
+    public void smallNumbersTakeOneByte() {
+
+        WireCodec.putVarint(buffer, 127);
+        WireCodec.putSignedVarint(buffer, -64);
+        WireCodec.putSignedVarlong(buffer, 63);
+        assertEquals(3, buffer.position());
+        WireCodec.putVarint(buffer, -1);
+        assertEquals(3 + WireCodec.MAX_VARINT_SIZE, buffer.position());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void overlongVarintIsRejected() {
+        buffer.put(new byte[] {-1, -1, -1, -1, -1, 1});
+        WireCodec.getVarint(flip());
+    }
+
+    @Test
+    public void turnsRoundTrip() {
+
+        PlayerTurn drew = new PlayerTurn();
+        drew.playerId = 3;
+        drew.drewACard = true;
+        PlayerTurn played = new PlayerTurn();
+        played.playerId = 200;
+        played.playedCard = Card.of(Card.Suit.HEARTS, Card.Rank.KING);
+        PlayerTurn eight = new PlayerTurn();
+        eight.playerId = 1;
+        eight.playedCard = Card.of(Card.Suit.CLUBS, Card.Rank.EIGHT);
+        eight.declaredSuit = Card.Suit.SPADES;
+
+        WireCodec.putTurn(buffer, drew);
+        WireCodec.putTurn(buffer, played);
+        WireCodec.putTurn(buffer, eight);
+        assertEquals(7, buffer.position());
+
+        flip();
+        PlayerTurn turn = new PlayerTurn();
+        for (PlayerTurn expected : new PlayerTurn[] {drew, played, eight}) {
+            WireCodec.getTurn(buffer, turn);
+            assertEquals(expected.playerId, turn.playerId);
+            assertEquals(expected.drewACard, turn.drewACard);
+            assertSame(expected.playedCard, turn.playedCard);
+            assertSame(expected.declaredSuit, turn.declaredSuit);
+        }
+
+    }
+
+    @Test
+    public void cardSetsPackSixBitsPerCard() {
+
+        long hand = 0;
+        for (int card : new int[] {0, 7, 19, 26, 38, 45, 51}) {
+            hand |= 1L << card;
+        }
+        WireCodec.putCards(buffer, hand);
+        //the size, then 7 cards of 6 bits in 6 bytes
+        assertEquals(7, buffer.position());
+        WireCodec.putCards(buffer, 0);
+        WireCodec.putCards(buffer, (1L << Card.DECK_SIZE) - 1);
+        assertEquals(7 + 1 + 1 + 39, buffer.position());
+
+        flip();
+        assertEquals(hand, WireCodec.getCards(buffer));
+        assertEquals(0, WireCodec.getCards(buffer));
+        assertEquals((1L << Card.DECK_SIZE) - 1, WireCodec.getCards(buffer));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cardCodesOutsideTheDeckAreRejected() {
+        buffer.put((byte) Card.DECK_SIZE);
+        WireCodec.getCard(flip());
+    }
+
+    @Test
+    public void roundResultsAndSeatDeltasRoundTrip() {
+
+        WireCodec.putRoundResult(buffer, 2, new int[] {-10, 45, 0}, 3);
+        WireCodec.SeatDelta delta = new WireCodec.SeatDelta();
+        delta.playerId = 2;
+        delta.cardsAdded = Hand.bit(Card.of(4)) | Hand.bit(Card.of(30));
+        delta.cardsRemoved = Hand.bit(Card.of(12));
+        delta.scoreChange = -25;
+        WireCodec.putSeatDelta(buffer, delta);
+
+        flip();
+        int[] scores = new int[4];
+        assertEquals(2, WireCodec.getRoundResult(buffer, scores));
+        assertArrayEquals(new int[] {-10, 45, 0, 0}, scores);
+
+        WireCodec.SeatDelta read = new WireCodec.SeatDelta();
+        WireCodec.getSeatDelta(buffer, read);
+        assertEquals(2, read.playerId);
+        assertEquals(delta.cardsAdded, read.cardsAdded);
+        assertEquals(delta.cardsRemoved, read.cardsRemoved);
+        assertEquals(-25, read.scoreChange);
+        assertEquals(Hand.bit(Card.of(4)) | Hand.bit(Card.of(30)) | 1, read.apply(Hand.bit(Card.of(12)) | 1));
+
+    }
+
+    @Test
+    public void encodingAndDecodingDoNotAllocate() {
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        PlayerTurn turn = new PlayerTurn();
+        turn.playerId = 5;
+        turn.playedCard = Card.of(Card.Suit.DIAMONDS, Card.Rank.EIGHT);
+        turn.declaredSuit = Card.Suit.HEARTS;
+        WireCodec.SeatDelta delta = new WireCodec.SeatDelta();
+
+        //warm up first, so the count does not include anything the interpreter or the compiler allocates
+        long checksum = roundTrips(turn, delta, 20_000);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        checksum += roundTrips(turn, delta, 20_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(checksum != 0);
+        assertTrue("allocated " + allocated + " bytes", allocated < 1024);
+
+    }
+
+    private long roundTrips(PlayerTurn turn, WireCodec.SeatDelta delta, int times) {
+
+        long checksum = 0;
+        for (int i = 0; i < times; i++) {
+            buffer.clear();
+            WireCodec.putTurn(buffer, turn);
+            WireCodec.putCards(buffer, 0x3F0F_00FF_0000L + i);
+            delta.playerId = i;
+            delta.scoreChange = -i;
+            WireCodec.putSeatDelta(buffer, delta);
+
+            buffer.flip();
+            WireCodec.getTurn(buffer, turn);
+            checksum += WireCodec.getCards(buffer);
+            WireCodec.getSeatDelta(buffer, delta);
+            checksum += delta.scoreChange + turn.playerId;
+        }
+        return checksum;
+
+    }
+
+}